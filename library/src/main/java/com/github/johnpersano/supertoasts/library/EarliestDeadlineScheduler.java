@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * Shows the pending SuperToast whose deadline comes first. The deadline of a SuperToast
+ * is its {@link Style#deadline} or the end of its time to live, whichever comes first.
+ * SuperToasts without either come after every SuperToast with a deadline and are
+ * ordered by priority level. The Toaster rejects or downgrades SuperToasts that cannot
+ * meet their deadline when they are shown. This is the
+ * {@link Style#SCHEDULER_EARLIEST_DEADLINE} policy.
+ * This class cannot (and should not) be used directly.
+ */
+final class EarliestDeadlineScheduler extends HeapScheduler {
+
+    EarliestDeadlineScheduler() {
+        super(KEY_COMPARATOR);
+    }
+
+    @Override
+    public SuperToast onEnqueue(SuperToast superToast, long now) {
+        final ToastRecord record = superToast.getRecord();
+        record.schedulerKey = getDeadline(record);
+        return super.onEnqueue(superToast, now);
+    }
+
+    /**
+     * Returns the uptime a SuperToast is ordered by, Long.MAX_VALUE if it has no deadline.
+     *
+     * @param record The record of the SuperToast
+     * @return The earlier of its deadline and its expiry
+     */
+    static long getDeadline(ToastRecord record) {
+        final long deadlineAt = record.deadlineAt > 0 ? record.deadlineAt : Long.MAX_VALUE;
+        final long expiresAt = record.expiresAt > 0 ? record.expiresAt : Long.MAX_VALUE;
+        return Math.min(deadlineAt, expiresAt);
+    }
+}
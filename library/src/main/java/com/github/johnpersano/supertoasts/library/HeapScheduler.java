@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.Comparator;
+
+/**
+ * Base of the built-in {@link ToastScheduler}s. The pending SuperToasts are kept in a
+ * {@link ToastHeap} so that showing the next SuperToast and removing any other pending
+ * SuperToast is O(log n). Arrivals of a batch are added lazily and ordered once.
+ * This class cannot (and should not) be used directly.
+ */
+abstract class HeapScheduler implements ToastScheduler {
+
+    /**
+     * Orders by effective priority level, the enqueue sequence breaks ties.
+     */
+    static final Comparator<ToastRecord> PRIORITY_COMPARATOR = new Comparator<ToastRecord>() {
+
+        @Override
+        public int compare(ToastRecord x, ToastRecord y) {
+            final int xPriorityLevel = x.getEffectivePriorityLevel();
+            final int yPriorityLevel = y.getEffectivePriorityLevel();
+
+            if (xPriorityLevel < yPriorityLevel) return -1;
+            else if (xPriorityLevel > yPriorityLevel) return 1;
+
+            // ToastHeap is not stable, the enqueue sequence maintains insertion order
+            else return x.sequence < y.sequence ? -1 : (x.sequence == y.sequence ? 0 : 1);
+        }
+    };
+
+    /**
+     * Orders by {@link ToastRecord#schedulerKey} first and by priority level after that.
+     */
+    static final Comparator<ToastRecord> KEY_COMPARATOR = new Comparator<ToastRecord>() {
+
+        @Override
+        public int compare(ToastRecord x, ToastRecord y) {
+            if (x.schedulerKey < y.schedulerKey) return -1;
+            else if (x.schedulerKey > y.schedulerKey) return 1;
+            else return PRIORITY_COMPARATOR.compare(x, y);
+        }
+    };
+
+    final ToastHeap mPending;
+
+    HeapScheduler(Comparator<ToastRecord> comparator) {
+        this.mPending = new ToastHeap(comparator, ToastHeap.PENDING_INDEX);
+    }
+
+    @Override
+    public SuperToast onEnqueue(SuperToast superToast, long now) {
+        mPending.addLazily(superToast.getRecord());
+        return null;
+    }
+
+    @Override
+    public void onDismiss(SuperToast superToast) {
+        mPending.remove(superToast.getRecord());
+    }
+
+    /**
+     * Sifts the record to its new place in O(log n).
+     */
+    @Override
+    public void onReprioritize(SuperToast superToast, long now) {
+        mPending.update(superToast.getRecord());
+    }
+
+    @Override
+    public SuperToast nextToShow(long now) {
+        final ToastRecord record = mPending.peek();
+        return record != null ? record.superToast : null;
+    }
+
+    @Override
+    public void onShow(SuperToast superToast, long now) {
+        mPending.remove(superToast.getRecord());
+    }
+
+    @Override
+    public void onTick(long now) {
+        // Do nothing
+    }
+}
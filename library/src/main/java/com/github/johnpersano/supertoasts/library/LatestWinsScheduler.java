@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.HashMap;
+
+/**
+ * Keeps only the latest pending SuperToast of every group, which suits status updates
+ * where an older status is worthless once a newer one exists. A new SuperToast replaces
+ * the pending SuperToast of its group, SuperToasts without a group are never replaced.
+ * The remaining SuperToasts are ordered by priority level. This is the
+ * {@link Style#SCHEDULER_LATEST_WINS} policy.
+ * This class cannot (and should not) be used directly.
+ */
+final class LatestWinsScheduler extends HeapScheduler {
+
+    private final HashMap<String, ToastRecord> mLatest = new HashMap<>();
+
+    LatestWinsScheduler() {
+        super(PRIORITY_COMPARATOR);
+    }
+
+    @Override
+    public SuperToast onEnqueue(SuperToast superToast, long now) {
+        final String group = superToast.getStyle().group;
+        if (group == null) return super.onEnqueue(superToast, now);
+
+        // A suspended SuperToast coming back is older than anything that arrived meanwhile
+        final ToastRecord record = superToast.getRecord();
+        final ToastRecord latest = mLatest.get(group);
+        if (latest != null && latest.sequence > record.sequence) return superToast;
+
+        mLatest.put(group, record);
+        super.onEnqueue(superToast, now);
+        if (latest == null) return null;
+        super.onDismiss(latest.superToast);
+        return latest.superToast;
+    }
+
+    @Override
+    public void onDismiss(SuperToast superToast) {
+        super.onDismiss(superToast);
+        forget(superToast);
+    }
+
+    @Override
+    public void onShow(SuperToast superToast, long now) {
+        super.onShow(superToast, now);
+        forget(superToast);
+    }
+
+    private void forget(SuperToast superToast) {
+        final String group = superToast.getStyle().group;
+        if (group != null && mLatest.get(group) == superToast.getRecord()) mLatest.remove(group);
+    }
+}
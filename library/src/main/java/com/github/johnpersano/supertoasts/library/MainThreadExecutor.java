@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * Runs the tasks of the {@link Toaster} on the main looper at the times of
+ * {@link SystemClock#uptimeMillis()}. This class cannot (and should not) be used directly.
+ */
+final class MainThreadExecutor implements ToastClock, ToastExecutor {
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        mHandler.post(task);
+    }
+
+    @Override
+    public void executeAt(Runnable task, long uptime) {
+        mHandler.postAtTime(task, uptime);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        mHandler.removeCallbacks(task);
+    }
+
+    @Override
+    public boolean isExecutorThread() {
+        return Looper.myLooper() == mHandler.getLooper();
+    }
+}
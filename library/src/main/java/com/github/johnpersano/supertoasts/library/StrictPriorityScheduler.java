@@ -0,0 +1,29 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * Shows the pending SuperToast with the highest (aged) priority level first, SuperToasts
+ * of the same level are shown in the order they arrived. This is the default
+ * {@link Style#SCHEDULER_STRICT_PRIORITY} policy.
+ * This class cannot (and should not) be used directly.
+ */
+final class StrictPriorityScheduler extends HeapScheduler {
+
+    StrictPriorityScheduler() {
+        super(PRIORITY_COMPARATOR);
+    }
+}
@@ -1,850 +1,1496 @@
-/*
- * Copyright 2013-2016 John Persano
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package com.github.johnpersano.supertoasts.library;
-
-import android.annotation.SuppressLint;
-import android.content.Context;
-import android.content.res.Configuration;
-import android.graphics.PixelFormat;
-import android.graphics.drawable.GradientDrawable;
-import android.os.Build;
-import android.os.Parcelable;
-import android.support.annotation.ColorInt;
-import android.support.annotation.DrawableRes;
-import android.support.annotation.IdRes;
-import android.support.annotation.NonNull;
-import android.util.Log;
-import android.view.Gravity;
-import android.view.LayoutInflater;
-import android.view.View;
-import android.view.WindowManager;
-import android.widget.FrameLayout;
-import android.widget.TextView;
-
-import com.github.johnpersano.supertoasts.library.utils.AccessibilityUtils;
-import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
-import com.github.johnpersano.supertoasts.library.utils.BackgroundUtils;
-
-/**
- * SuperToasts are designed to improve upon the stock {@link android.widget.Toast} class and 
- * should be used in similar situations. For usage information, check out the 
- * <a href="https://github.com/JohnPersano/Supertoasts/wiki/SuperToast">SuperToast Wiki page</a>.
- */
-@SuppressWarnings("ALL")
-public class SuperToast {
-
-    /**
-     * Listener that calls onDismiss() when a SuperToast or SuperActivityToast is dismissed. 
-     * 
-     * @see #setOnDismissListener(String, android.os.Parcelable, com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)  
-     */
-    public interface OnDismissListener {
-
-        /**
-         * Called when the SuperToast or SuperActivityToast is dismissed.
-         *
-         * @param view The View that was removed from the ViewGroup
-         * @param token A Parcelable token that can hold data across orientation changes
-         */
-         void onDismiss(View view, Parcelable token);
-    }
-
-    private final Context mContext;
-    private final View mView;
-    private final TextView mTextView;
-    private Style mStyle;
-    private OnDismissListener mOnDismissListener;
-
-    /**
-     * Public constructor for a SuperToast.
-     *
-     * @param context A valid Context
-     */
-    public SuperToast(@NonNull Context context) {
-        this.mContext = context;
-        this.mStyle = new Style();
-        this.mStyle.type = Style.TYPE_STANDARD;
-
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        this.mView = onCreateView(context, layoutInflater, Style.TYPE_STANDARD);
-        this.mTextView = (TextView) this.mView.findViewById(R.id.message);
-    }
-
-    /**
-     * Public constructor for a SuperToast.
-     *
-     * @param context A valid Context
-     * @param style The desired Style             
-     */
-    public SuperToast(@NonNull Context context, @NonNull Style style) {
-        this.mContext = context;
-        this.mStyle = style;
-
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        this.mView = onCreateView(context, layoutInflater, this.mStyle.type);
-        this.mTextView = (TextView) this.mView.findViewById(R.id.message);
-    }
-
-    /**
-     * Protected constructor that is overridden by the SuperActivityToast class.         
-     */
-    protected SuperToast(@NonNull Context context, @Style.Type int type) {
-        this.mContext = context;
-        this.mStyle = new Style();
-        this.mStyle.type = type;
-
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        this.mView = onCreateView(context, layoutInflater, type);
-        this.mTextView = (TextView) this.mView.findViewById(R.id.message);
-    }
-
-    /**
-     * Protected constructor that is overridden by the SuperActivityToast class.         
-     */
-    protected SuperToast(@NonNull Context context,  @NonNull Style style, @Style.Type int type) {
-        this.mContext = context;
-        this.mStyle = style;
-        this.mStyle.type = type;
-
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        this.mView = onCreateView(context, layoutInflater, type);
-        this.mTextView = (TextView) this.mView.findViewById(R.id.message);
-    }
-
-    /**
-     * Protected constructor that is overridden by the SuperActivityToast class.         
-     */
-    protected SuperToast(@NonNull Context context,  @NonNull Style style, @Style.Type int type, @IdRes int viewGroupID) {
-        this.mContext = context;
-        this.mStyle = style;
-        this.mStyle.type = type;
-
-        // TYPE_BUTTON styles are the only ones that look different from the styles set by the Style() constructor
-        if (type == Style.TYPE_BUTTON) {
-            this.mStyle.yOffset = BackgroundUtils.convertToDIP(24);
-            this.mStyle.width = FrameLayout.LayoutParams.MATCH_PARENT;
-        }
-
-        final LayoutInflater layoutInflater = (LayoutInflater) context
-                .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
-        this.mView = onCreateView(context, layoutInflater, type);
-        this.mTextView = (TextView) this.mView.findViewById(R.id.message);
-    }
-
-    /**
-     * Protected View that is overridden by the SuperActivityToast class.         
-     */
-    @SuppressLint("InflateParams")
-    protected View onCreateView(Context context, LayoutInflater layoutInflater, int type) {
-        return layoutInflater.inflate(R.layout.supertoast, null);
-    }
-
-    /**
-     * Modify various attributes of the SuperToast before being shown.
-     */
-    @SuppressLint("NewApi")
-    @SuppressWarnings("deprecation")
-    protected void onPrepareShow() {
-        final int sdkVersion = android.os.Build.VERSION.SDK_INT;
-
-        // Modify various attributes of the message TextView
-        this.mTextView.setText(this.mStyle.message);
-        this.mTextView.setTypeface(this.mTextView.getTypeface(), this.mStyle.messageTypefaceStyle);
-        this.mTextView.setTextColor(this.mStyle.messageTextColor);
-        this.mTextView.setTextSize(this.mStyle.messageTextSize);
-        if (this.mStyle.messageIconResource > 0) {
-            if (this.mStyle.messageIconPosition == Style.ICONPOSITION_LEFT) {
-                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(
-                        this.mStyle.messageIconResource, 0, 0, 0);
-            } else if (this.mStyle.messageIconPosition == Style.ICONPOSITION_TOP) {
-                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(
-                        0, this.mStyle.messageIconResource, 0, 0);
-            } else if (this.mStyle.messageIconPosition == Style.ICONPOSITION_RIGHT) {
-                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(
-                        0, 0, this.mStyle.messageIconResource, 0);
-            } else if (this.mStyle.messageIconPosition == Style.ICONPOSITION_BOTTOM) {
-                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(
-                        0, 0, 0, this.mStyle.messageIconResource);
-            }
-        }
-
-        // Handle depreciated API for setting the background
-        if (sdkVersion >= Build.VERSION_CODES.JELLY_BEAN) {
-            this.mView.setBackground(BackgroundUtils.getBackground(this.mStyle, this.mStyle.color));
-            // Give Lollipop devices a nice shadow (does not work with transparent backgrounds)
-            if (sdkVersion >= Build.VERSION_CODES.LOLLIPOP) mView.setElevation(3f);
-        } else this.mView.setBackgroundDrawable(BackgroundUtils.getBackground(this.mStyle, this.mStyle.color));
-
-        // Make adjustments that are specific to Lollipop frames
-        if (this.mStyle.frame == Style.FRAME_LOLLIPOP) {
-            this.mTextView.setGravity(Gravity.START);
-
-            // We are on a big screen device, show the SuperToast on the bottom left with padding
-            if ((this.mContext.getResources().getConfiguration().screenLayout & Configuration.SCREENLAYOUT_SIZE_MASK)
-                    >= Configuration.SCREENLAYOUT_SIZE_LARGE) {
-                this.mStyle.xOffset = BackgroundUtils.convertToDIP(12);
-                this.mStyle.yOffset = BackgroundUtils.convertToDIP(12);
-                this.mStyle.width = BackgroundUtils.convertToDIP(288);
-                this.mStyle.gravity = Gravity.BOTTOM | Gravity.START;
-
-                // Simple background shape with rounded corners
-                final GradientDrawable gradientDrawable = new GradientDrawable();
-                gradientDrawable.setCornerRadius(BackgroundUtils.convertToDIP(2));
-                gradientDrawable.setColor(this.mStyle.color);
-
-                // Handle depreciated API for setting the background
-                if (sdkVersion >= Build.VERSION_CODES.JELLY_BEAN) this.mView.setBackground(gradientDrawable);
-                else this.mView.setBackgroundDrawable(gradientDrawable);
-
-            // We are NOT on a big screen device, show the SuperToast on the bottom with NO padding
-            } else {
-                this.mStyle.yOffset = 0;
-                this.mStyle.width = FrameLayout.LayoutParams.MATCH_PARENT;
-            }
-            
-            // Set the priority color of the Lollipop frame if any
-            if (this.mStyle.priorityColor != 0) {
-                mView.findViewById(R.id.border).setVisibility(View.VISIBLE);
-                mView.findViewById(R.id.border).setBackgroundColor(this.mStyle.priorityColor);
-            }
-        }
-        // Used for PriorityQueue comparisons
-        this.getStyle().timestamp = System.currentTimeMillis();
-    }
-
-    /**
-     * Sets the text of the main TextView.
-     *  
-     * @param message The message to be displayed
-     * @return The current SuperToast instance
-     */
-    public SuperToast setText(String message) {
-        this.mStyle.message = message;
-        return this;
-    }
-
-    /**
-     * Returns the text of the main TextView.
-     *
-     * @return The message text
-     */
-    public String getText() {
-        return this.mStyle.message;
-    }
-
-    /**
-     * Sets the duration of the SuperToast. The duration cannot exceed 4500ms.
-     * If a longer duration is required, use {@link SuperActivityToast}s instead
-     * as they can be made indeterminate.
-     * @see {@link SuperActivityToast#setIndeterminate(boolean)}
-     *
-     * @param duration The desired show duration
-     * @return The current SuperToast instance
-     */
-    public SuperToast setDuration(@Style.Duration int duration) {
-        // There is no need for a SuperToast with an ultra long duration
-        if (duration > Style.DURATION_VERY_LONG) {
-            Log.e(getClass().getName(), "SuperToast duration cannot exceed 4500ms.");
-            this.mStyle.duration = Style.DURATION_VERY_LONG;
-            return this;
-        }
-        this.mStyle.duration = duration;
-        return this;
-    }
-
-    /**
-     * Returns the duration of the SuperToast.
-     *
-     * @return The SuperToast duration in milliseconds 
-     */
-    @Style.Duration
-    public int getDuration() {
-        return this.mStyle.duration;
-    }
-
-    /**
-     * Sets the color of the SuperToast. Sample colors
-     * can be found in {@link Style} class.
-     *
-     * @param color The desired color
-     * @return The current SuperToast instance
-     */
-    public SuperToast setColor(@ColorInt int color) {
-        this.mStyle.color = color;
-        return this;
-    }
-
-    /**
-     * Returns the color of the SuperToast.
-     *
-     * @return The color value
-     */
-    @ColorInt
-    public int getColor() {
-        return this.mStyle.color;
-    }
-
-    /**
-     * Sets the priority level of the SuperToast. A SuperToast with a
-     * higher priority will be shown before a SuperToast with a lower
-     * priority. This will not affect any SuperToasts that are
-     * already showing.
-     *
-     * @param priorityLevel The desired priority level
-     * @return The current SuperToast instance
-     */
-    public SuperToast setPriorityLevel(@Style.PriorityLevel int priorityLevel) {
-        this.mStyle.priorityLevel = priorityLevel;
-        return this;
-    }
-
-    /**
-     * Returns the priority level of the SuperToast.
-     *
-     * @return The SuperToast duration in milliseconds
-     */
-    @Style.PriorityLevel
-    public int getPriorityLevel() {
-        return this.mStyle.priorityLevel;
-    }
-
-    /**
-     * Sets the priority color of the SuperToast. The priority color is a
-     * small border line at the top of the SuperToast and is only used with
-     * Lollipop frames.
-     *
-     * @param priorityColor The desired color
-     * @return The current SuperToast instance
-     */
-    public SuperToast setPriorityColor(@ColorInt int priorityColor) {
-        this.mStyle.priorityColor = priorityColor;
-        return this;
-    }
-
-    /**
-     * Returns the priority color of the SuperToast.
-     *
-     * @return The color value
-     */
-    @ColorInt
-    public int getPriorityColor() {
-        return this.mStyle.priorityColor;
-    }
-
-    /**
-     * Sets the Typeface style of the main TextView.
-     *
-     * @param typefaceStyle The desired Typeface style
-     * @return The current SuperToast instance
-     */
-    public SuperToast setTypefaceStyle(@Style.TypefaceStyle int typefaceStyle) {
-        this.mStyle.messageTypefaceStyle = typefaceStyle;
-        return this;
-    }
-
-    /**
-     * Returns the Typeface style of the main TextView.
-     *
-     * @return The Typeface style
-     */
-    @Style.TypefaceStyle
-    public int getTypefaceStyle() {
-        return this.mStyle.messageTypefaceStyle;
-    }
-
-    /**
-     * Sets the text color of the main TextView.
-     *
-     * @param textColor The desired text color
-     * @return The current SuperToast instance
-     */
-    public SuperToast setTextColor(@ColorInt int textColor) {
-        this.mStyle.messageTextColor = textColor;
-        return this;
-    }
-
-    /**
-     * Returns the text color of the main TextView.
-     *
-     * @return The text color value
-     */
-    @ColorInt
-    public int getTextColor() {
-        return this.mStyle.messageTextColor;
-    }
-
-    /**
-     * Sets the text size of the main TextView. This value cannot be below 12.
-     *
-     * @param textSize The desired text size
-     * @return The current SuperToast instance
-     */
-    public SuperToast setTextSize(@Style.TextSize int textSize) {
-        if (textSize < Style.TEXTSIZE_VERY_SMALL) {
-            Log.e(getClass().getName(), "SuperToast text size cannot be below 12.");
-            this.mStyle.messageTextSize = Style.TEXTSIZE_VERY_SMALL;
-            return this;
-        } else if (textSize > Style.TEXTSIZE_VERY_LARGE) {
-            Log.e(getClass().getName(), "SuperToast text size cannot be above 20.");
-            this.mStyle.messageTextSize = Style.TEXTSIZE_VERY_LARGE;
-            return this;
-        }
-        this.mStyle.messageTextSize = textSize;
-        return this;
-    }
-
-    /**
-     * Returns the text size of the main TextView.
-     *
-     * @return The text size value
-     */
-    @Style.TextSize
-    public int getTextSize() {
-        return this.mStyle.messageTextSize;
-    }
-
-    /**
-     * Sets the icon position and icon resource of the main TextView.
-     * The recommended icon position for most applications is
-     * {@link Style#ICONPOSITION_LEFT}.
-     *
-     * @param iconPosition The desired icon position
-     * @param iconResource The desired icon resource
-     * @return The current SuperToast instance
-     * 
-     * @see #setIconPosition(int) 
-     * @see #setIconResource(int)  
-     */
-    public SuperToast setIconResource(@Style.IconPosition int iconPosition,
-                                      @DrawableRes int iconResource) {
-        this.mStyle.messageIconPosition = iconPosition;
-        this.mStyle.messageIconResource = iconResource;
-        return this;
-    }
-
-    /**
-     * Sets the icon position of the main TextView.
-     * The recommended icon position for most applications is
-     * {@link Style#ICONPOSITION_LEFT}.
-     *
-     * @param iconPosition The desired icon position
-     * @return The current SuperToast instance
-     *
-     * @see #setIconResource(int, int) 
-     * @see #setIconResource(int)
-     */
-    public SuperToast setIconPosition(@Style.IconPosition int iconPosition) {
-        this.mStyle.messageIconPosition = iconPosition;
-        return this;
-    }
-
-    /**
-     * Sets the icon resource of the main TextView.
-     *
-     * @param iconResource The desired icon resource
-     * @return The current SuperToast instance
-     *
-     * @see #setIconResource(int, int)
-     * @see #setIconPosition(int)
-     */
-    public SuperToast setIconResource(@DrawableRes int iconResource) {
-        this.mStyle.messageIconResource = iconResource;
-        return this;
-    }
-
-    /**
-     * Returns the icon resource of the main TextView.
-     *
-     * @return The icon resource value
-     */
-    @DrawableRes
-    public int getIconResource() {
-        return this.mStyle.messageIconResource;
-    }
-
-    /**
-     * Returns the icon position of the main TextView.
-     *
-     * @return The icon position value
-     */
-    @Style.IconPosition
-    public int getIconPosition() {
-        return this.mStyle.messageIconPosition;
-    }
-
-    /**
-     * Sets the frame of the SuperToast. If this is not set, 
-     * an appropriate frame will be chosen based on the device's SDK level. 
-     *
-     * @param frame The desired frame
-     * @return The current SuperToast instance
-     */
-    public SuperToast setFrame(@Style.Frame int frame) {
-        this.mStyle.frame = frame;
-        return this;
-    }
-
-    /**
-     * Returns the frame of the SuperToast.
-     *
-     * @return The frame value
-     */
-    @Style.Frame
-    public int getFrame() {
-        return this.mStyle.frame;
-    }
-
-    /**
-     * Sets the show and hide animations value of the SuperToast.  
-     *
-     * @param animations The desired animations value
-     * @return The current SuperToast instance
-     */
-    public SuperToast setAnimations(@Style.Animations int animations) {
-        this.mStyle.animations = animations;
-        return this;
-    }
-    
-    /**
-     * Returns the animations value of the SuperToast.
-     *
-     * @return The animations value
-     */
-    public int getAnimations() {
-        return this.mStyle.animations;
-    }
-
-    /**
-     * Sets the layout gravity, x, and y offsets for the SuperToast.
-     *
-     * @param gravity The desired Gravity
-     * @param xOffset The desired x (horizontal) offset
-     * @param yOffset The desired y (vertical) offset
-     * @return The current SuperToast instance
-     * 
-     * @see #setGravity(int)  
-     */
-    public SuperToast setGravity(@Style.GravityStyle int gravity, int xOffset, int yOffset) {
-        this.mStyle.gravity = gravity;
-        this.mStyle.xOffset = xOffset;
-        this.mStyle.yOffset = yOffset;
-        return this;
-    }
-
-    /**
-     * Sets the layout gravity of the SuperToast.
-     *
-     * @param gravity The desired Gravity
-     * @return The current SuperToast instance
-     *
-     * @see #setGravity(int, int, int) 
-     */
-    public SuperToast setGravity(@Style.GravityStyle int gravity) {
-        this.mStyle.gravity = gravity;
-        return this;
-    }
-
-    /**
-     * Returns the Gravity value of the SuperToast.
-     *
-     * @return The Gravity value
-     */
-    @Style.GravityStyle
-    public int getGravity() {
-        return this.mStyle.gravity;
-    }
-
-    /**
-     * Returns the x offset value of the SuperToast.
-     *
-     * @return The x offset (horizontal)
-     */
-    public int getXOffset() {
-        return this.mStyle.xOffset;
-    }
-
-    /**
-     * Returns the y offset value of the SuperToast.
-     *
-     * @return The y offset (vertical)
-     */
-    public int getYOffset() {
-        return this.mStyle.yOffset;
-    }
-
-    /**
-     * Sets the width of the SuperToast. There are not many usage cases
-     * where using this method is necessary. 
-     *
-     * @param width The desired width
-     * @return The current SuperToast instance
-     */
-    public SuperToast setWidth(int width) {
-        this.mStyle.width = width;
-        return this;
-    }
-
-    /**
-     * Returns the desired width of the SuperToast.
-     *
-     * @return The desired width
-     */
-    public int getWidth() {
-        return this.mStyle.width;
-    }
-
-    /**
-     * Sets the height of the SuperToast. There are not many usage cases
-     * where using this method is necessary. 
-     *
-     * @param height The desired height
-     * @return The current SuperToast instance
-     */
-    public SuperToast setHeight(int height) {
-        this.mStyle.height = height;
-        return this;
-    }
-
-    /**
-     * Returns the desired height of the SuperToast.
-     *
-     * @return The desired height
-     */
-    public int getHeight() {
-        return this.mStyle.height;
-    }
-
-    /**
-     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener} 
-     * of the SuperActivityToast. The listener will be triggered when the
-     * SuperActivityToast is dismissed.
-     *
-     * @param tag A unique tag for this listener
-     * @param token A Parcelable token to hold data across orientation changes
-     * @param onDismissListener The desired OnDismissListener
-     * @return The current SuperActivityToast instance
-     * 
-     * @see #setOnDismissListener(String,
-     * com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)
-     */
-    protected SuperToast setOnDismissListener(String tag, Parcelable token,
-                                              @NonNull OnDismissListener onDismissListener) {
-        this.mOnDismissListener = onDismissListener;
-        this.mStyle.dismissTag = tag;
-        this.mStyle.dismissToken = token;
-        return this;
-    }
-
-    /**
-     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener}
-     * of the SuperActivityToast. The listener will be triggered when the
-     * SuperActivityToast is dismissed.
-     *
-     * @param tag A unique tag for this listener
-     * @param onDismissListener The desired OnDismissListener
-     * @return The current SuperActivityToast instance
-     *
-     * @see #setOnDismissListener(String, android.os.Parcelable,
-     * com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)
-     */
-    protected SuperToast setOnDismissListener(String tag,
-                                              @NonNull OnDismissListener onDismissListener) {
-        this.mOnDismissListener = onDismissListener;
-        this.mStyle.dismissTag = tag;
-        this.mStyle.dismissToken = null;
-        return this;
-    }
-
-    /**
-     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener}
-     * of the SuperToast. The listener will be triggered when the SuperToast is dismissed.
-     *
-     * @param onDismissListener The desired OnDismissListener
-     * @return The current SuperToast instance
-     */
-    public SuperToast setOnDismissListener(@NonNull OnDismissListener onDismissListener) {
-        this.mOnDismissListener = onDismissListener;
-        this.mStyle.dismissTag = "";
-        this.mStyle.dismissToken = null;
-        return this;
-    }
-
-    /**
-     * Returns the dismiss tag of the SuperActivityToast.
-     *
-     * @return The dismiss tag
-     */
-    protected String getDismissTag() {
-        return this.mStyle.dismissTag;
-    }
-
-    /**
-     * Returns the dismiss Parcelable token of the SuperActivityToast.
-     *
-     * @return The dismiss Parcelable token
-     */
-    protected Parcelable getDismissToken() {
-        return this.mStyle.dismissToken;
-    }
-
-    /**
-     * Returns the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener} 
-     * of the SuperToast.
-     *
-     * @return The OnDismissListener
-     */
-    public OnDismissListener getOnDismissListener() {
-        return this.mOnDismissListener;
-    }
-
-    /**
-     * Sets the {@link com.github.johnpersano.supertoasts.library.Style} of the SuperToast. 
-     *
-     * @param style The desired Style
-     * @return The current SuperToast instance
-     */
-    protected SuperToast setStyle(Style style) {
-        this.mStyle = style;
-        return this;
-    }
-
-    /**
-     * Returns the {@link com.github.johnpersano.supertoasts.library.Style} of the SuperToast.
-     *
-     * @return The Style
-     */
-    public Style getStyle() {
-        return this.mStyle;
-    }
-
-    /**
-     * Returns the Context used with this SuperToast.
-     *
-     * @return The Context
-     */
-    public Context getContext() {
-        return this.mContext;
-    }
-
-    /**
-     * Returns the main View of the SuperToast.
-     *
-     * @return The main View
-     */
-    public View getView() {
-        return this.mView;
-    }
-
-    /**
-     * Returns true if the SuperToast is showing.
-     *
-     * @return true if the SuperToast is showing
-     */
-    public boolean isShowing() {
-        return mView != null && mView.isShown();
-    }
-
-    /**
-     * Protected method used by
-     * {@link com.github.johnpersano.supertoasts.library.Toaster#displaySuperToast(SuperToast)}
-     */
-    protected WindowManager.LayoutParams getWindowManagerParams() {
-        final WindowManager.LayoutParams layoutParams = new WindowManager.LayoutParams();
-        layoutParams.height = this.mStyle.height;
-        layoutParams.width = this.mStyle.width;
-        layoutParams.flags = WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE
-                | WindowManager.LayoutParams.FLAG_NOT_TOUCHABLE
-                | WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON;
-        layoutParams.format = PixelFormat.TRANSLUCENT;
-        layoutParams.windowAnimations = AnimationUtils.getSystemAnimationsResource(mStyle.animations);
-        layoutParams.type = WindowManager.LayoutParams.TYPE_TOAST;
-        layoutParams.gravity = this.mStyle.gravity;
-        layoutParams.x = this.mStyle.xOffset;
-        layoutParams.y = this.mStyle.yOffset;
-        return layoutParams;
-    }
-
-    /**
-     * Shows the SuperToast. If any SuperToast is already showing, this SuperToast
-     * will be enqueued until the others have finished (depending on priority level).
-     */
-    public void show() {
-        this.onPrepareShow();
-        Toaster.getInstance().add(this);
-        AccessibilityUtils.sendAccessibilityEvent(this.mView);
-    }
-
-    /**
-     * Dismissed the SuperToast if it is showing.
-     */
-    public void dismiss() {
-        Toaster.getInstance().removeSuperToast(this);
-    }
-
-    /**
-     * Dismisses every SuperToast and SuperActivityToast that is showing and
-     * cancels everything in the queue.
-     */
-    public static void cancelAllSuperToasts() {
-        Toaster.getInstance().cancelAllSuperToasts();
-    }
-
-    /**
-     * Returns the number of SuperToasts in the queue.
-     *
-     * @return The queue size
-     */
-    public static int getQueueSize() {
-        return Toaster.getInstance().getQueue().size();
-    }
-
-    /**
-     * Creates a simple SuperToast. Don't forget to call {@link SuperToast#show()}.
-     *
-     * @param context A valid Context
-     * @param text The desired text to be shown
-     * @param duration The desired duration of the SuperToast
-     *                      
-     * @return The newly created SuperToast
-     */
-    public static SuperToast create(@NonNull Context context, @NonNull String text,
-                                    @Style.Duration int duration) {
-        return new SuperToast(context)
-                .setText(text)
-                .setDuration(duration);
-    }
-
-    /**
-     * Creates a simple SuperToast. Don't forget to call {@link SuperToast#show()}.
-     *
-     * @param context A valid Context
-     * @param text The desired text to be shown
-     * @param duration The desired duration of the SuperToast
-     * @param style The desired Style of the SuperToast
-     *
-     * @return The newly created SuperToast
-     */
-    public static SuperToast create(@NonNull Context context, @NonNull String text,
-                                    @Style.Duration int duration, @NonNull Style style) {
-        return new SuperToast(context, style)
-                .setText(text)
-                .setDuration(duration);
-    }
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
+import android.os.Parcelable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.IdRes;
+import android.support.annotation.NonNull;
+import android.util.Log;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+import com.github.johnpersano.supertoasts.library.utils.BackgroundUtils;
+
+/**
+ * SuperToasts are designed to improve upon the stock {@link android.widget.Toast} class and 
+ * should be used in similar situations. For usage information, check out the 
+ * <a href="https://github.com/JohnPersano/Supertoasts/wiki/SuperToast">SuperToast Wiki page</a>.
+ */
+@SuppressWarnings("ALL")
+public class SuperToast {
+
+    /**
+     * Listener that calls onDismiss() when a SuperToast or SuperActivityToast is dismissed. 
+     * 
+     * @see #setOnDismissListener(String, android.os.Parcelable, com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)  
+     */
+    public interface OnDismissListener {
+
+        /**
+         * Called when the SuperToast or SuperActivityToast is dismissed.
+         *
+         * @param view The View that was removed from the ViewGroup
+         * @param token A Parcelable token that can hold data across orientation changes
+         */
+         void onDismiss(View view, Parcelable token);
+    }
+
+    /**
+     * Listener that calls onExpired() when a SuperToast or SuperActivityToast waited in the
+     * queue for longer than its time to live and was dropped without being shown.
+     *
+     * @see #setTimeToLive(int)
+     */
+    public interface OnExpiredListener {
+
+        /**
+         * Called when the SuperToast or SuperActivityToast has expired.
+         *
+         * @param superToast The SuperToast that was dropped
+         */
+        void onExpired(SuperToast superToast);
+    }
+
+    private final Context mContext;
+    private final int mType;
+    private View mView;
+    private TextView mTextView;
+    private Style mStyle;
+    private OnDismissListener mOnDismissListener;
+    private OnExpiredListener mOnExpiredListener;
+    private final ToastRecord mRecord = new ToastRecord(this);
+
+    /**
+     * Public constructor for a SuperToast.
+     *
+     * @param context A valid Context
+     */
+    public SuperToast(@NonNull Context context) {
+        this.mContext = context;
+        this.mStyle = new Style();
+        this.mStyle.type = Style.TYPE_STANDARD;
+        this.mType = Style.TYPE_STANDARD;
+    }
+
+    /**
+     * Public constructor for a SuperToast.
+     *
+     * @param context A valid Context
+     * @param style The desired Style             
+     */
+    public SuperToast(@NonNull Context context, @NonNull Style style) {
+        this.mContext = context;
+        this.mStyle = style;
+        this.mType = this.mStyle.type;
+    }
+
+    /**
+     * Protected constructor that is overridden by the SuperActivityToast class.         
+     */
+    protected SuperToast(@NonNull Context context, @Style.Type int type) {
+        this.mContext = context;
+        this.mStyle = new Style();
+        this.mStyle.type = type;
+        this.mType = type;
+    }
+
+    /**
+     * Protected constructor that is overridden by the SuperActivityToast class.         
+     */
+    protected SuperToast(@NonNull Context context,  @NonNull Style style, @Style.Type int type) {
+        this.mContext = context;
+        this.mStyle = style;
+        this.mStyle.type = type;
+        this.mType = type;
+    }
+
+    /**
+     * Protected constructor that is overridden by the SuperActivityToast class.         
+     */
+    protected SuperToast(@NonNull Context context,  @NonNull Style style, @Style.Type int type, @IdRes int viewGroupID) {
+        this.mContext = context;
+        this.mStyle = style;
+        this.mStyle.type = type;
+
+        // TYPE_BUTTON styles are the only ones that look different from the styles set by the Style() constructor
+        if (type == Style.TYPE_BUTTON) {
+            this.mStyle.yOffset = BackgroundUtils.convertToDIP(24);
+            this.mStyle.width = FrameLayout.LayoutParams.MATCH_PARENT;
+        }
+        this.mType = type;
+    }
+
+    /**
+     * Protected View that is overridden by the SuperActivityToast class.         
+     */
+    @SuppressLint("InflateParams")
+    protected View onCreateView(Context context, LayoutInflater layoutInflater, int type) {
+        return layoutInflater.inflate(R.layout.supertoast, null);
+    }
+
+    /**
+     * Modify various attributes of the SuperToast before being shown. This is called
+     * by the Toaster right before the SuperToast is attached.
+     */
+    @SuppressLint("NewApi")
+    @SuppressWarnings("deprecation")
+    protected void onPrepareShow() {
+        final int sdkVersion = android.os.Build.VERSION.SDK_INT;
+
+        // Make sure the View has been inflated
+        this.getView();
+
+        // Modify various attributes of the message TextView
+        this.mTextView.setText(this.getDisplayedMessage());
+        this.mTextView.setTypeface(this.mTextView.getTypeface(), this.mStyle.messageTypefaceStyle);
+        this.mTextView.setTextColor(this.mStyle.messageTextColor);
+        this.mTextView.setTextSize(this.mStyle.messageTextSize);
+        if (this.mStyle.messageIconResource > 0) this.setMessageIcon();
+
+        // Give Lollipop devices a nice shadow (does not work with transparent backgrounds)
+        if (sdkVersion >= Build.VERSION_CODES.LOLLIPOP) mView.setElevation(3f);
+
+        // Make adjustments that are specific to Lollipop frames
+        if (this.mStyle.frame == Style.FRAME_LOLLIPOP) {
+            this.mTextView.setGravity(Gravity.START);
+
+            // We are on a big screen device, show the SuperToast on the bottom left with padding
+            if (this.isLargeScreen()) {
+                this.mStyle.xOffset = BackgroundUtils.convertToDIP(12);
+                this.mStyle.yOffset = BackgroundUtils.convertToDIP(12);
+                this.mStyle.width = BackgroundUtils.convertToDIP(288);
+                this.mStyle.gravity = Gravity.BOTTOM | Gravity.START;
+
+            // We are NOT on a big screen device, show the SuperToast on the bottom with NO padding
+            } else {
+                this.mStyle.yOffset = 0;
+                this.mStyle.width = FrameLayout.LayoutParams.MATCH_PARENT;
+            }
+            
+            // Set the priority color of the Lollipop frame if any
+            if (this.mStyle.priorityColor != 0) this.setPriorityBorder();
+        }
+        this.setBackground();
+    }
+
+    /**
+     * Applies the changed fields of a Style to the SuperToast without queueing it again.
+     * This is called by {@link #update(Style)} and only touches the Views that are
+     * affected by a changed field. Fields are compared with the current Style of the
+     * SuperToast, the changed ones are copied into it.
+     *
+     * @param delta The Style holding the new values
+     */
+    protected void onUpdate(Style delta) {
+        final boolean isViewCreated = this.isViewCreated();
+
+        if (!isEqual(delta.message, this.mStyle.message)) {
+            this.mStyle.message = delta.message;
+            if (isViewCreated) this.mTextView.setText(this.getDisplayedMessage());
+        }
+        if (delta.messageTextColor != this.mStyle.messageTextColor) {
+            this.mStyle.messageTextColor = delta.messageTextColor;
+            if (isViewCreated) this.mTextView.setTextColor(delta.messageTextColor);
+        }
+        if (delta.messageTextSize != this.mStyle.messageTextSize) {
+            this.mStyle.messageTextSize = delta.messageTextSize;
+            if (isViewCreated) this.mTextView.setTextSize(delta.messageTextSize);
+        }
+        if (delta.messageTypefaceStyle != this.mStyle.messageTypefaceStyle) {
+            this.mStyle.messageTypefaceStyle = delta.messageTypefaceStyle;
+            if (isViewCreated) this.mTextView.setTypeface(this.mTextView.getTypeface(),
+                    delta.messageTypefaceStyle);
+        }
+        if (delta.messageIconResource != this.mStyle.messageIconResource
+                || delta.messageIconPosition != this.mStyle.messageIconPosition) {
+            this.mStyle.messageIconResource = delta.messageIconResource;
+            this.mStyle.messageIconPosition = delta.messageIconPosition;
+            if (isViewCreated) this.setMessageIcon();
+        }
+        if (delta.color != this.mStyle.color) {
+            this.mStyle.color = delta.color;
+            if (isViewCreated) this.setBackground();
+        }
+        if (delta.priorityColor != this.mStyle.priorityColor) {
+            this.mStyle.priorityColor = delta.priorityColor;
+            if (isViewCreated && this.mStyle.frame == Style.FRAME_LOLLIPOP) this.setPriorityBorder();
+        }
+    }
+
+    /**
+     * Sets the message icon of the main TextView, or clears it if there is none.
+     */
+    private void setMessageIcon() {
+        final int iconResource = this.mStyle.messageIconResource > 0
+                ? this.mStyle.messageIconResource : 0;
+        switch (this.mStyle.messageIconPosition) {
+            case Style.ICONPOSITION_LEFT:
+                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(iconResource, 0, 0, 0);
+                break;
+            case Style.ICONPOSITION_TOP:
+                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(0, iconResource, 0, 0);
+                break;
+            case Style.ICONPOSITION_RIGHT:
+                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(0, 0, iconResource, 0);
+                break;
+            case Style.ICONPOSITION_BOTTOM:
+                this.mTextView.setCompoundDrawablesWithIntrinsicBounds(0, 0, 0, iconResource);
+                break;
+        }
+    }
+
+    /**
+     * Sets the background of the main View for the current color and frame.
+     */
+    @SuppressLint("NewApi")
+    @SuppressWarnings("deprecation")
+    private void setBackground() {
+        final Drawable background;
+        if (this.mStyle.frame == Style.FRAME_LOLLIPOP && this.isLargeScreen()) {
+            // Simple background shape with rounded corners
+            final GradientDrawable gradientDrawable = new GradientDrawable();
+            gradientDrawable.setCornerRadius(BackgroundUtils.convertToDIP(2));
+            gradientDrawable.setColor(this.mStyle.color);
+            background = gradientDrawable;
+        } else background = BackgroundUtils.getBackground(this.mStyle, this.mStyle.color);
+
+        // Handle depreciated API for setting the background
+        if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            this.mView.setBackground(background);
+        } else this.mView.setBackgroundDrawable(background);
+    }
+
+    /**
+     * Shows or hides the priority color border of a Lollipop frame.
+     */
+    private void setPriorityBorder() {
+        final View border = mView.findViewById(R.id.border);
+        border.setVisibility(this.mStyle.priorityColor != 0 ? View.VISIBLE : View.GONE);
+        border.setBackgroundColor(this.mStyle.priorityColor);
+    }
+
+    /**
+     * Returns true on large and extra large screens.
+     */
+    private boolean isLargeScreen() {
+        return (this.mContext.getResources().getConfiguration().screenLayout
+                & Configuration.SCREENLAYOUT_SIZE_MASK) >= Configuration.SCREENLAYOUT_SIZE_LARGE;
+    }
+
+    /**
+     * Null safe String comparison used by {@link #onUpdate(Style)}.
+     */
+    private static boolean isEqual(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Sets the text of the main TextView.
+     *  
+     * @param message The message to be displayed
+     * @return The current SuperToast instance
+     */
+    public SuperToast setText(String message) {
+        this.mStyle.message = message;
+        return this;
+    }
+
+    /**
+     * Returns the text of the main TextView.
+     *
+     * @return The message text
+     */
+    public String getText() {
+        return this.mStyle.message;
+    }
+
+    /**
+     * Returns the message followed by the number of occurrences if duplicates
+     * of this SuperToast have been coalesced into it.
+     */
+    private String getDisplayedMessage() {
+        if (this.mStyle.occurrences <= 1 || this.mStyle.message == null) return this.mStyle.message;
+        return this.mStyle.message + " \u00d7" + this.mStyle.occurrences;
+    }
+
+    /**
+     * Sets the maximum number of milliseconds the SuperToast may wait in the queue, measured
+     * from the call to {@link #show()}. A SuperToast that has not been shown by then is
+     * dropped without ever being inflated. A SuperToast that has been shown once never
+     * expires. The default of zero waits forever.
+     *
+     * @param timeToLive The desired time to live in milliseconds
+     * @return The current SuperToast instance
+     *
+     * @see #setOnExpiredListener(OnExpiredListener)
+     */
+    public SuperToast setTimeToLive(int timeToLive) {
+        this.mStyle.timeToLive = Math.max(0, timeToLive);
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of milliseconds the SuperToast may wait in the queue.
+     *
+     * @return The time to live in milliseconds
+     */
+    public int getTimeToLive() {
+        return this.mStyle.timeToLive;
+    }
+
+    /**
+     * Sets the number of milliseconds after the call to {@link #show()} by which the
+     * SuperToast should be displayed, for example a confirmation that is worthless a few
+     * seconds later. Under {@link Style#SCHEDULER_EARLIEST_DEADLINE} the SuperToast with the
+     * earliest deadline is shown first and a SuperToast that cannot be displayed in time
+     * behind the current backlog is handled by its deadline policy when it is shown.
+     * Other schedulers ignore the deadline. The default of {@link Style#DEADLINE_NONE}
+     * has no deadline.
+     *
+     * @param deadline The desired deadline in milliseconds
+     * @return The current SuperToast instance
+     *
+     * @see #setDeadlinePolicy(int)
+     */
+    public SuperToast setDeadline(int deadline) {
+        this.mStyle.deadline = Math.max(Style.DEADLINE_NONE, deadline);
+        return this;
+    }
+
+    /**
+     * Returns the number of milliseconds after the call to {@link #show()} by which the
+     * SuperToast should be displayed.
+     *
+     * @return The deadline in milliseconds
+     */
+    public int getDeadline() {
+        return this.mStyle.deadline;
+    }
+
+    /**
+     * Sets what happens to the SuperToast if it cannot meet its deadline.
+     * {@link Style#DEADLINE_REJECT} (the default) drops it without showing it,
+     * {@link Style#DEADLINE_DOWNGRADE} queues it behind every SuperToast with a deadline.
+     *
+     * @param deadlinePolicy The desired deadline policy
+     * @return The current SuperToast instance
+     */
+    public SuperToast setDeadlinePolicy(@Style.DeadlinePolicy int deadlinePolicy) {
+        this.mStyle.deadlinePolicy = deadlinePolicy;
+        return this;
+    }
+
+    /**
+     * Returns what happens to the SuperToast if it cannot meet its deadline.
+     *
+     * @return The deadline policy
+     */
+    @Style.DeadlinePolicy
+    public int getDeadlinePolicy() {
+        return this.mStyle.deadlinePolicy;
+    }
+
+    /**
+     * Sets the group of the SuperToast. SuperToasts of a group can be cancelled, counted
+     * and reprioritized together, for example every SuperToast of a sync module.
+     * The group must be set before the SuperToast is shown.
+     *
+     * @param group The desired group tag, null for no group
+     * @return The current SuperToast instance
+     *
+     * @see #cancelGroup(String)
+     */
+    public SuperToast setGroup(String group) {
+        this.mStyle.group = group;
+        return this;
+    }
+
+    /**
+     * Returns the group of the SuperToast.
+     *
+     * @return The group tag or null
+     */
+    public String getGroup() {
+        return this.mStyle.group;
+    }
+
+    /**
+     * Sets the source of the SuperToast, usually the module that shows it. Under
+     * {@link Style#SCHEDULER_WEIGHTED_FAIR} every source gets its share of the display
+     * time so that one chatty source cannot starve the others, and the wait times of every
+     * source are recorded in {@link ToastMetrics#getSourceStats(String)}.
+     * The source must be set before the SuperToast is shown.
+     *
+     * @param source The desired source tag, null for no source
+     * @return The current SuperToast instance
+     *
+     * @see #setSourceWeight(String, int)
+     */
+    public SuperToast setSource(String source) {
+        this.mStyle.source = source;
+        return this;
+    }
+
+    /**
+     * Returns the source of the SuperToast.
+     *
+     * @return The source tag or null
+     */
+    public String getSource() {
+        return this.mStyle.source;
+    }
+
+    /**
+     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnExpiredListener}
+     * of the SuperToast. The listener will be triggered if the SuperToast expires before it
+     * is shown.
+     *
+     * @param onExpiredListener The desired OnExpiredListener
+     * @return The current SuperToast instance
+     */
+    public SuperToast setOnExpiredListener(OnExpiredListener onExpiredListener) {
+        this.mOnExpiredListener = onExpiredListener;
+        return this;
+    }
+
+    /**
+     * Returns the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnExpiredListener}
+     * of the SuperToast.
+     *
+     * @return The OnExpiredListener
+     */
+    public OnExpiredListener getOnExpiredListener() {
+        return this.mOnExpiredListener;
+    }
+
+    /**
+     * Coalesces duplicates of this SuperToast into it instead of queueing them separately.
+     * A duplicate is a SuperToast with the same message, type and appearance that is shown
+     * while this SuperToast is still pending or showing for the same target. Each duplicate
+     * increases the occurrence count shown after the message. Listeners of the duplicate
+     * are not called.
+     *
+     * @param coalesceDuplicates true if duplicates should be coalesced
+     * @return The current SuperToast instance
+     *
+     * @see #setCoalesceExtension(int)
+     */
+    public SuperToast setCoalesceDuplicates(boolean coalesceDuplicates) {
+        this.mStyle.coalesceDuplicates = coalesceDuplicates;
+        return this;
+    }
+
+    /**
+     * Returns true if duplicates are coalesced into this SuperToast.
+     *
+     * @return true if duplicates are coalesced
+     */
+    public boolean isCoalesceDuplicates() {
+        return this.mStyle.coalesceDuplicates;
+    }
+
+    /**
+     * Sets the number of milliseconds each coalesced duplicate adds to the duration
+     * of the SuperToast. The default is zero.
+     *
+     * @param coalesceExtension The desired extension in milliseconds
+     * @return The current SuperToast instance
+     *
+     * @see #setCoalesceDuplicates(boolean)
+     */
+    public SuperToast setCoalesceExtension(int coalesceExtension) {
+        this.mStyle.coalesceExtension = Math.max(0, coalesceExtension);
+        return this;
+    }
+
+    /**
+     * Returns the number of milliseconds each coalesced duplicate adds to the duration.
+     *
+     * @return The extension in milliseconds
+     */
+    public int getCoalesceExtension() {
+        return this.mStyle.coalesceExtension;
+    }
+
+    /**
+     * Returns how many times this SuperToast has been shown, including any
+     * coalesced duplicates.
+     *
+     * @return The number of occurrences
+     */
+    public int getOccurrences() {
+        return this.mStyle.occurrences;
+    }
+
+    /**
+     * Called by the Toaster after a duplicate has been coalesced into this SuperToast.
+     */
+    void onCoalesced() {
+        if (this.mTextView != null) this.mTextView.setText(this.getDisplayedMessage());
+    }
+
+    /**
+     * Sets the duration of the SuperToast. The duration cannot exceed 4500ms.
+     * If a longer duration is required, use {@link SuperActivityToast}s instead
+     * as they can be made indeterminate.
+     * @see {@link SuperActivityToast#setIndeterminate(boolean)}
+     *
+     * @param duration The desired show duration
+     * @return The current SuperToast instance
+     */
+    public SuperToast setDuration(@Style.Duration int duration) {
+        // There is no need for a SuperToast with an ultra long duration
+        if (duration > Style.DURATION_VERY_LONG) {
+            Log.e(getClass().getName(), "SuperToast duration cannot exceed 4500ms.");
+            this.mStyle.duration = Style.DURATION_VERY_LONG;
+            return this;
+        }
+        this.mStyle.duration = duration;
+        return this;
+    }
+
+    /**
+     * Returns the duration of the SuperToast.
+     *
+     * @return The SuperToast duration in milliseconds 
+     */
+    @Style.Duration
+    public int getDuration() {
+        return this.mStyle.duration;
+    }
+
+    /**
+     * Sets the color of the SuperToast. Sample colors
+     * can be found in {@link Style} class.
+     *
+     * @param color The desired color
+     * @return The current SuperToast instance
+     */
+    public SuperToast setColor(@ColorInt int color) {
+        this.mStyle.color = color;
+        return this;
+    }
+
+    /**
+     * Returns the color of the SuperToast.
+     *
+     * @return The color value
+     */
+    @ColorInt
+    public int getColor() {
+        return this.mStyle.color;
+    }
+
+    /**
+     * Sets the priority level of the SuperToast. A SuperToast with a
+     * higher priority will be shown before a SuperToast with a lower
+     * priority. This will not affect any SuperToasts that are
+     * already showing but will reorder a SuperToast that is still queued.
+     * This method may be called from any thread; off the main thread the
+     * new priority level takes effect with the next batch of the queue.
+     *
+     * @param priorityLevel The desired priority level
+     * @return The current SuperToast instance
+     */
+    public SuperToast setPriorityLevel(@Style.PriorityLevel int priorityLevel) {
+        Toaster.getInstance().reprioritize(this, priorityLevel);
+        return this;
+    }
+
+    /**
+     * Returns the priority level of the SuperToast.
+     *
+     * @return The SuperToast duration in milliseconds
+     */
+    @Style.PriorityLevel
+    public int getPriorityLevel() {
+        return this.mStyle.priorityLevel;
+    }
+
+    /**
+     * Sets the priority color of the SuperToast. The priority color is a
+     * small border line at the top of the SuperToast and is only used with
+     * Lollipop frames.
+     *
+     * @param priorityColor The desired color
+     * @return The current SuperToast instance
+     */
+    public SuperToast setPriorityColor(@ColorInt int priorityColor) {
+        this.mStyle.priorityColor = priorityColor;
+        return this;
+    }
+
+    /**
+     * Returns the priority color of the SuperToast.
+     *
+     * @return The color value
+     */
+    @ColorInt
+    public int getPriorityColor() {
+        return this.mStyle.priorityColor;
+    }
+
+    /**
+     * Sets the Typeface style of the main TextView.
+     *
+     * @param typefaceStyle The desired Typeface style
+     * @return The current SuperToast instance
+     */
+    public SuperToast setTypefaceStyle(@Style.TypefaceStyle int typefaceStyle) {
+        this.mStyle.messageTypefaceStyle = typefaceStyle;
+        return this;
+    }
+
+    /**
+     * Returns the Typeface style of the main TextView.
+     *
+     * @return The Typeface style
+     */
+    @Style.TypefaceStyle
+    public int getTypefaceStyle() {
+        return this.mStyle.messageTypefaceStyle;
+    }
+
+    /**
+     * Sets the text color of the main TextView.
+     *
+     * @param textColor The desired text color
+     * @return The current SuperToast instance
+     */
+    public SuperToast setTextColor(@ColorInt int textColor) {
+        this.mStyle.messageTextColor = textColor;
+        return this;
+    }
+
+    /**
+     * Returns the text color of the main TextView.
+     *
+     * @return The text color value
+     */
+    @ColorInt
+    public int getTextColor() {
+        return this.mStyle.messageTextColor;
+    }
+
+    /**
+     * Sets the text size of the main TextView. This value cannot be below 12.
+     *
+     * @param textSize The desired text size
+     * @return The current SuperToast instance
+     */
+    public SuperToast setTextSize(@Style.TextSize int textSize) {
+        if (textSize < Style.TEXTSIZE_VERY_SMALL) {
+            Log.e(getClass().getName(), "SuperToast text size cannot be below 12.");
+            this.mStyle.messageTextSize = Style.TEXTSIZE_VERY_SMALL;
+            return this;
+        } else if (textSize > Style.TEXTSIZE_VERY_LARGE) {
+            Log.e(getClass().getName(), "SuperToast text size cannot be above 20.");
+            this.mStyle.messageTextSize = Style.TEXTSIZE_VERY_LARGE;
+            return this;
+        }
+        this.mStyle.messageTextSize = textSize;
+        return this;
+    }
+
+    /**
+     * Returns the text size of the main TextView.
+     *
+     * @return The text size value
+     */
+    @Style.TextSize
+    public int getTextSize() {
+        return this.mStyle.messageTextSize;
+    }
+
+    /**
+     * Sets the icon position and icon resource of the main TextView.
+     * The recommended icon position for most applications is
+     * {@link Style#ICONPOSITION_LEFT}.
+     *
+     * @param iconPosition The desired icon position
+     * @param iconResource The desired icon resource
+     * @return The current SuperToast instance
+     * 
+     * @see #setIconPosition(int) 
+     * @see #setIconResource(int)  
+     */
+    public SuperToast setIconResource(@Style.IconPosition int iconPosition,
+                                      @DrawableRes int iconResource) {
+        this.mStyle.messageIconPosition = iconPosition;
+        this.mStyle.messageIconResource = iconResource;
+        return this;
+    }
+
+    /**
+     * Sets the icon position of the main TextView.
+     * The recommended icon position for most applications is
+     * {@link Style#ICONPOSITION_LEFT}.
+     *
+     * @param iconPosition The desired icon position
+     * @return The current SuperToast instance
+     *
+     * @see #setIconResource(int, int) 
+     * @see #setIconResource(int)
+     */
+    public SuperToast setIconPosition(@Style.IconPosition int iconPosition) {
+        this.mStyle.messageIconPosition = iconPosition;
+        return this;
+    }
+
+    /**
+     * Sets the icon resource of the main TextView.
+     *
+     * @param iconResource The desired icon resource
+     * @return The current SuperToast instance
+     *
+     * @see #setIconResource(int, int)
+     * @see #setIconPosition(int)
+     */
+    public SuperToast setIconResource(@DrawableRes int iconResource) {
+        this.mStyle.messageIconResource = iconResource;
+        return this;
+    }
+
+    /**
+     * Returns the icon resource of the main TextView.
+     *
+     * @return The icon resource value
+     */
+    @DrawableRes
+    public int getIconResource() {
+        return this.mStyle.messageIconResource;
+    }
+
+    /**
+     * Returns the icon position of the main TextView.
+     *
+     * @return The icon position value
+     */
+    @Style.IconPosition
+    public int getIconPosition() {
+        return this.mStyle.messageIconPosition;
+    }
+
+    /**
+     * Sets the frame of the SuperToast. If this is not set, 
+     * an appropriate frame will be chosen based on the device's SDK level. 
+     *
+     * @param frame The desired frame
+     * @return The current SuperToast instance
+     */
+    public SuperToast setFrame(@Style.Frame int frame) {
+        this.mStyle.frame = frame;
+        return this;
+    }
+
+    /**
+     * Returns the frame of the SuperToast.
+     *
+     * @return The frame value
+     */
+    @Style.Frame
+    public int getFrame() {
+        return this.mStyle.frame;
+    }
+
+    /**
+     * Sets the show and hide animations value of the SuperToast.  
+     *
+     * @param animations The desired animations value
+     * @return The current SuperToast instance
+     */
+    public SuperToast setAnimations(@Style.Animations int animations) {
+        this.mStyle.animations = animations;
+        return this;
+    }
+    
+    /**
+     * Returns the animations value of the SuperToast.
+     *
+     * @return The animations value
+     */
+    public int getAnimations() {
+        return this.mStyle.animations;
+    }
+
+    /**
+     * Sets the layout gravity, x, and y offsets for the SuperToast.
+     *
+     * @param gravity The desired Gravity
+     * @param xOffset The desired x (horizontal) offset
+     * @param yOffset The desired y (vertical) offset
+     * @return The current SuperToast instance
+     * 
+     * @see #setGravity(int)  
+     */
+    public SuperToast setGravity(@Style.GravityStyle int gravity, int xOffset, int yOffset) {
+        this.mStyle.gravity = gravity;
+        this.mStyle.xOffset = xOffset;
+        this.mStyle.yOffset = yOffset;
+        return this;
+    }
+
+    /**
+     * Sets the layout gravity of the SuperToast.
+     *
+     * @param gravity The desired Gravity
+     * @return The current SuperToast instance
+     *
+     * @see #setGravity(int, int, int) 
+     */
+    public SuperToast setGravity(@Style.GravityStyle int gravity) {
+        this.mStyle.gravity = gravity;
+        return this;
+    }
+
+    /**
+     * Returns the Gravity value of the SuperToast.
+     *
+     * @return The Gravity value
+     */
+    @Style.GravityStyle
+    public int getGravity() {
+        return this.mStyle.gravity;
+    }
+
+    /**
+     * Returns the x offset value of the SuperToast.
+     *
+     * @return The x offset (horizontal)
+     */
+    public int getXOffset() {
+        return this.mStyle.xOffset;
+    }
+
+    /**
+     * Returns the y offset value of the SuperToast.
+     *
+     * @return The y offset (vertical)
+     */
+    public int getYOffset() {
+        return this.mStyle.yOffset;
+    }
+
+    /**
+     * Sets the width of the SuperToast. There are not many usage cases
+     * where using this method is necessary. 
+     *
+     * @param width The desired width
+     * @return The current SuperToast instance
+     */
+    public SuperToast setWidth(int width) {
+        this.mStyle.width = width;
+        return this;
+    }
+
+    /**
+     * Returns the desired width of the SuperToast.
+     *
+     * @return The desired width
+     */
+    public int getWidth() {
+        return this.mStyle.width;
+    }
+
+    /**
+     * Sets the height of the SuperToast. There are not many usage cases
+     * where using this method is necessary. 
+     *
+     * @param height The desired height
+     * @return The current SuperToast instance
+     */
+    public SuperToast setHeight(int height) {
+        this.mStyle.height = height;
+        return this;
+    }
+
+    /**
+     * Returns the desired height of the SuperToast.
+     *
+     * @return The desired height
+     */
+    public int getHeight() {
+        return this.mStyle.height;
+    }
+
+    /**
+     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener} 
+     * of the SuperActivityToast. The listener will be triggered when the
+     * SuperActivityToast is dismissed.
+     *
+     * @param tag A unique tag for this listener
+     * @param token A Parcelable token to hold data across orientation changes
+     * @param onDismissListener The desired OnDismissListener
+     * @return The current SuperActivityToast instance
+     * 
+     * @see #setOnDismissListener(String,
+     * com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)
+     */
+    protected SuperToast setOnDismissListener(String tag, Parcelable token,
+                                              @NonNull OnDismissListener onDismissListener) {
+        this.mOnDismissListener = onDismissListener;
+        this.mStyle.dismissTag = tag;
+        this.mStyle.dismissToken = token;
+        return this;
+    }
+
+    /**
+     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener}
+     * of the SuperActivityToast. The listener will be triggered when the
+     * SuperActivityToast is dismissed.
+     *
+     * @param tag A unique tag for this listener
+     * @param onDismissListener The desired OnDismissListener
+     * @return The current SuperActivityToast instance
+     *
+     * @see #setOnDismissListener(String, android.os.Parcelable,
+     * com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener)
+     */
+    protected SuperToast setOnDismissListener(String tag,
+                                              @NonNull OnDismissListener onDismissListener) {
+        this.mOnDismissListener = onDismissListener;
+        this.mStyle.dismissTag = tag;
+        this.mStyle.dismissToken = null;
+        return this;
+    }
+
+    /**
+     * Sets the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener}
+     * of the SuperToast. The listener will be triggered when the SuperToast is dismissed.
+     *
+     * @param onDismissListener The desired OnDismissListener
+     * @return The current SuperToast instance
+     */
+    public SuperToast setOnDismissListener(@NonNull OnDismissListener onDismissListener) {
+        this.mOnDismissListener = onDismissListener;
+        this.mStyle.dismissTag = "";
+        this.mStyle.dismissToken = null;
+        return this;
+    }
+
+    /**
+     * Returns the dismiss tag of the SuperActivityToast.
+     *
+     * @return The dismiss tag
+     */
+    protected String getDismissTag() {
+        return this.mStyle.dismissTag;
+    }
+
+    /**
+     * Returns the dismiss Parcelable token of the SuperActivityToast.
+     *
+     * @return The dismiss Parcelable token
+     */
+    protected Parcelable getDismissToken() {
+        return this.mStyle.dismissToken;
+    }
+
+    /**
+     * Returns the {@link com.github.johnpersano.supertoasts.library.SuperToast.OnDismissListener} 
+     * of the SuperToast.
+     *
+     * @return The OnDismissListener
+     */
+    public OnDismissListener getOnDismissListener() {
+        return this.mOnDismissListener;
+    }
+
+    /**
+     * Sets the {@link com.github.johnpersano.supertoasts.library.Style} of the SuperToast. 
+     *
+     * @param style The desired Style
+     * @return The current SuperToast instance
+     */
+    protected SuperToast setStyle(Style style) {
+        this.mStyle = style;
+        return this;
+    }
+
+    /**
+     * Returns the {@link com.github.johnpersano.supertoasts.library.Style} of the SuperToast.
+     *
+     * @return The Style
+     */
+    public Style getStyle() {
+        return this.mStyle;
+    }
+
+    /**
+     * Returns the Context used with this SuperToast.
+     *
+     * @return The Context
+     */
+    public Context getContext() {
+        return this.mContext;
+    }
+
+    /**
+     * Returns the main View of the SuperToast. The View is inflated on the first call
+     * so SuperToasts that are never shown do not pay for inflation.
+     *
+     * @return The main View
+     */
+    public View getView() {
+        if (this.mView == null) {
+            final LayoutInflater layoutInflater = (LayoutInflater) this.mContext
+                    .getSystemService(Context.LAYOUT_INFLATER_SERVICE);
+            this.mView = onCreateView(this.mContext, layoutInflater, this.mType);
+            this.mTextView = (TextView) this.mView.findViewById(R.id.message);
+        }
+        return this.mView;
+    }
+
+    /**
+     * Returns the type the main View is inflated with.
+     *
+     * @return The View type
+     */
+    int getViewType() {
+        return this.mType;
+    }
+
+    /**
+     * Returns true if the main View has already been inflated.
+     *
+     * @return true if the View exists
+     */
+    boolean isViewCreated() {
+        return this.mView != null;
+    }
+
+    /**
+     * Returns true if the SuperToast is showing.
+     *
+     * @return true if the SuperToast is showing
+     */
+    public boolean isShowing() {
+        return mView != null && mView.isShown();
+    }
+
+    /**
+     * Returns the queue bookkeeping used by the
+     * {@link com.github.johnpersano.supertoasts.library.Toaster}.
+     *
+     * @return The ToastRecord of this SuperToast
+     */
+    ToastRecord getRecord() {
+        return this.mRecord;
+    }
+
+    /**
+     * Protected method used by
+     * {@link com.github.johnpersano.supertoasts.library.Toaster#displaySuperToast(SuperToast)}
+     */
+    protected WindowManager.LayoutParams getWindowManagerParams() {
+        final WindowManager.LayoutParams layoutParams = new WindowManager.LayoutParams();
+        layoutParams.height = this.mStyle.height;
+        layoutParams.width = this.mStyle.width;
+        layoutParams.flags = WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE
+                | WindowManager.LayoutParams.FLAG_NOT_TOUCHABLE
+                | WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON;
+        layoutParams.format = PixelFormat.TRANSLUCENT;
+        layoutParams.windowAnimations = AnimationUtils.getSystemAnimationsResource(mStyle.animations);
+        layoutParams.type = WindowManager.LayoutParams.TYPE_TOAST;
+        layoutParams.gravity = this.mStyle.gravity;
+        layoutParams.x = this.mStyle.xOffset;
+        layoutParams.y = this.mStyle.yOffset;
+        return layoutParams;
+    }
+
+    /**
+     * Updates the SuperToast in place. Only the fields of the delta that differ from the
+     * current Style are applied and only the affected Views are touched. A showing
+     * SuperToast keeps its View, position and remaining duration, a pending SuperToast
+     * keeps its place in the queue. This is meant for live status SuperToasts that change
+     * many times per second, a single {@link Style#copy()} of the current Style can be
+     * changed and passed to this method as often as needed.
+     *
+     * The message, colors, text attributes, icon and (for a SuperActivityToast) the
+     * progress and button text can be updated. Layout, type, duration and queue fields
+     * are ignored, set those before the SuperToast is shown.
+     * This method must be called from the main thread.
+     *
+     * @param delta The Style holding the new values
+     * @return The current SuperToast instance
+     */
+    public SuperToast update(@NonNull Style delta) {
+        if (delta == this.mStyle) {
+            Log.e(getClass().getName(), "SuperToast.update() needs a copy of the Style, " +
+                    "use Style.copy() to create one.");
+            return this;
+        }
+        this.onUpdate(delta);
+        return this;
+    }
+
+    /**
+     * Shows the SuperToast. If any SuperToast is already showing, this SuperToast
+     * will be enqueued until the others have finished (depending on priority level).
+     * This method may be called from any thread.
+     */
+    public void show() {
+        Toaster.getInstance().show(this);
+    }
+
+    /**
+     * Shows the SuperToast after a delay. Until then the SuperToast is not part of the
+     * queue, see {@link #show()} for what happens afterwards. Calling {@link #dismiss()}
+     * before the delay has passed cancels it. This method may be called from any thread.
+     *
+     * @param delay The delay in milliseconds
+     */
+    public void showAfter(long delay) {
+        Toaster.getInstance().showAfter(this, delay);
+    }
+
+    /**
+     * Shows the SuperToast once the clock the queue runs on reaches an uptime. On a device
+     * that clock is the system uptime, which does not count deep sleep. Prefer
+     * {@link #showAfter(long)} for a delay from now. Until then the SuperToast is not part
+     * of the queue, see {@link #show()} for what happens afterwards. Calling
+     * {@link #dismiss()} before then cancels it. This method may be called from any thread.
+     *
+     * @param uptime The uptime in milliseconds to show the SuperToast at
+     */
+    public void showAt(long uptime) {
+        Toaster.getInstance().showAt(this, uptime);
+    }
+
+    /**
+     * Dismissed the SuperToast if it is showing.
+     */
+    public void dismiss() {
+        Toaster.getInstance().dismiss(this);
+    }
+
+    /**
+     * Dismisses every SuperToast and SuperActivityToast that is showing and
+     * cancels everything in the queue.
+     */
+    public static void cancelAllSuperToasts() {
+        Toaster.getInstance().cancel();
+    }
+
+    /**
+     * Returns the number of SuperToasts in the queue. This may be called from any thread
+     * and never locks.
+     *
+     * @return The queue size
+     */
+    public static int getQueueSize() {
+        return Toaster.getInstance().getQueueSize();
+    }
+
+    /**
+     * Returns an immutable snapshot of the showing, pending and deferred SuperToasts.
+     * The snapshot can be kept and iterated on any thread. Called on the main thread it
+     * reflects every earlier call, other threads may get a slightly older snapshot.
+     *
+     * @return The current ToastSnapshot
+     */
+    public static ToastSnapshot getQueueSnapshot() {
+        return Toaster.getInstance().getSnapshot();
+    }
+
+    /**
+     * Dismisses every showing SuperToast of a group and cancels the rest of the group,
+     * including scheduled and deferred SuperToasts. This takes time proportional to the
+     * size of the group and may be called from any thread.
+     *
+     * @param group The group tag
+     */
+    public static void cancelGroup(@NonNull String group) {
+        Toaster.getInstance().cancelGroup(group);
+    }
+
+    /**
+     * Returns the number of scheduled, deferred, pending and showing SuperToasts of a
+     * group. SuperToasts that are already being dismissed are not counted.
+     * This method must be called from the main thread.
+     *
+     * @param group The group tag
+     * @return The number of SuperToasts in the group
+     */
+    public static int countGroup(@NonNull String group) {
+        return Toaster.getInstance().countGroup(group);
+    }
+
+    /**
+     * Sets the priority level of every SuperToast of a group. Pending SuperToasts move
+     * to their new place in the queue. This method may be called from any thread.
+     *
+     * @param group The group tag
+     * @param priorityLevel The desired priority level
+     */
+    public static void reprioritizeGroup(@NonNull String group,
+                                         @Style.PriorityLevel int priorityLevel) {
+        Toaster.getInstance().reprioritizeGroup(group, priorityLevel);
+    }
+
+    /**
+     * Bounds the number of pending SuperToasts per display target. SuperToasts share the
+     * WindowManager while every ViewGroup of a SuperActivityToast has its own queue. Showing
+     * SuperToasts do not count against the capacity. The queues are unbounded by default
+     * and a new capacity only applies to SuperToasts shown afterwards.
+     *
+     * @param queueCapacity The maximum number of pending SuperToasts per target or
+     *                      {@link Style#QUEUE_CAPACITY_UNBOUNDED}
+     * @param overflowPolicy What to do when a SuperToast is shown while its queue is full
+     */
+    public static void setQueueCapacity(int queueCapacity,
+                                        @Style.OverflowPolicy int overflowPolicy) {
+        Toaster.getInstance().setQueueCapacity(queueCapacity, overflowPolicy);
+    }
+
+    /**
+     * Returns the maximum number of pending SuperToasts per display target.
+     *
+     * @return The queue capacity
+     */
+    public static int getQueueCapacity() {
+        return Toaster.getInstance().getQueueCapacity();
+    }
+
+    /**
+     * Returns what happens when a SuperToast is shown while its queue is full.
+     *
+     * @return The overflow policy
+     */
+    @Style.OverflowPolicy
+    public static int getOverflowPolicy() {
+        return Toaster.getInstance().getOverflowPolicy();
+    }
+
+    /**
+     * Limits how many SuperToasts are accepted per second across all priority levels.
+     * SuperToasts shown faster than this are handled by the rate limit policy, see
+     * {@link #setRateLimitPolicy(int)}. There is no limit by default.
+     *
+     * @param toastsPerSecond The sustained rate or {@link Style#RATE_UNLIMITED}
+     * @param burst The number of SuperToasts that may be accepted at once
+     */
+    public static void setRateLimit(float toastsPerSecond, int burst) {
+        Toaster.getInstance().setRateLimit(toastsPerSecond, burst);
+    }
+
+    /**
+     * Limits how many SuperToasts of a priority level are accepted per second. This
+     * applies in addition to the limit of {@link #setRateLimit(float, int)}.
+     *
+     * @param priorityLevel The priority level to limit
+     * @param toastsPerSecond The sustained rate or {@link Style#RATE_UNLIMITED}
+     * @param burst The number of SuperToasts that may be accepted at once
+     */
+    public static void setRateLimit(@Style.PriorityLevel int priorityLevel,
+                                    float toastsPerSecond, int burst) {
+        Toaster.getInstance().setRateLimit(priorityLevel, toastsPerSecond, burst);
+    }
+
+    /**
+     * Sets what happens to a SuperToast that is shown faster than the rate limit allows.
+     * It is either dropped, coalesced into an identical pending or showing SuperToast or
+     * deferred until the rate limit allows it. Defaults to {@link Style#RATE_LIMIT_DROP}.
+     *
+     * @param rateLimitPolicy The desired rate limit policy
+     */
+    public static void setRateLimitPolicy(@Style.RateLimitPolicy int rateLimitPolicy) {
+        Toaster.getInstance().setRateLimitPolicy(rateLimitPolicy);
+    }
+
+    /**
+     * Returns what happens to a SuperToast that is shown faster than the rate limit allows.
+     *
+     * @return The rate limit policy
+     */
+    @Style.RateLimitPolicy
+    public static int getRateLimitPolicy() {
+        return Toaster.getInstance().getRateLimitPolicy();
+    }
+
+    /**
+     * Defers attaching and detaching SuperToast Views, including their animation starts,
+     * to the next Choreographer frame. All changes of a frame then land in a single
+     * layout and draw pass instead of whenever the Toaster happens to run. Off by default.
+     *
+     * @param isFrameAligned true to align with the next frame
+     */
+    public static void setFrameAlignedScheduling(boolean isFrameAligned) {
+        Toaster.getInstance().setFrameAligned(isFrameAligned);
+    }
+
+    /**
+     * Returns true if SuperToast Views are attached and detached on the next frame.
+     *
+     * @return true if frame aligned
+     */
+    public static boolean isFrameAlignedScheduling() {
+        return Toaster.getInstance().isFrameAligned();
+    }
+
+    /**
+     * Sets the policy that decides which pending SuperToast is shown next, separately for
+     * the WindowManager and every ViewGroup. Pending SuperToasts are handed over to the new
+     * policy. The default {@link Style#SCHEDULER_STRICT_PRIORITY} shows the highest priority
+     * level first, {@link Style#SCHEDULER_EARLIEST_DEADLINE} shows the SuperToast whose deadline
+     * or time to live runs out first, {@link Style#SCHEDULER_WEIGHTED_FAIR} shares the display
+     * time between sources by their weights and {@link Style#SCHEDULER_LATEST_WINS} only keeps
+     * the latest pending SuperToast of every group.
+     * This method must be called from the main thread.
+     *
+     * @param schedulerPolicy The desired scheduler policy
+     *
+     * @see #setSourceWeight(String, int)
+     */
+    public static void setScheduler(@Style.SchedulerPolicy int schedulerPolicy) {
+        Toaster.getInstance().setScheduler(schedulerPolicy);
+    }
+
+    /**
+     * Sets a custom {@link ToastScheduler} that decides which pending SuperToast is shown
+     * next. The factory creates one scheduler for the WindowManager and for every ViewGroup.
+     * This method must be called from the main thread.
+     *
+     * @param factory The factory of the desired ToastScheduler
+     */
+    public static void setScheduler(@NonNull ToastScheduler.Factory factory) {
+        Toaster.getInstance().setScheduler(factory);
+    }
+
+    /**
+     * Returns the scheduler policy.
+     *
+     * @return The scheduler policy, {@link Style#SCHEDULER_CUSTOM} for a custom ToastScheduler
+     */
+    public static int getSchedulerPolicy() {
+        return Toaster.getInstance().getSchedulerPolicy();
+    }
+
+    /**
+     * Sets the share of the display time a source gets under
+     * {@link Style#SCHEDULER_WEIGHTED_FAIR}. A source of weight two gets twice the display
+     * time of a source of weight one while both have SuperToasts pending. Sources have a
+     * weight of one by default.
+     * This method must be called from the main thread.
+     *
+     * @param source The source tag
+     * @param weight The desired weight, at least one
+     */
+    public static void setSourceWeight(@NonNull String source, int weight) {
+        Toaster.getInstance().setSourceWeight(source, weight);
+    }
+
+    /**
+     * Lets SuperToasts with a low priority level move up while they wait so that a steady
+     * stream of important SuperToasts cannot keep them from ever showing. A waiting
+     * SuperToast is ordered as if its priority level was one level higher for every
+     * interval it has waited. Off ({@link Style#AGING_DISABLED}) by default.
+     *
+     * @param agingInterval The milliseconds of waiting per gained priority level
+     *
+     * @see ToastMetrics#getWaitTimePercentile(int, double)
+     */
+    public static void setPriorityAging(int agingInterval) {
+        Toaster.getInstance().setPriorityAging(agingInterval);
+    }
+
+    /**
+     * Returns the milliseconds of waiting per gained priority level.
+     *
+     * @return The aging interval or {@link Style#AGING_DISABLED}
+     */
+    public static int getPriorityAging() {
+        return Toaster.getInstance().getPriorityAging();
+    }
+
+    /**
+     * Lets a SuperToast with a higher priority level interrupt a less important SuperToast
+     * that is showing in the same place. The interrupted SuperToast is taken off screen
+     * without being dismissed and shows again for its remaining duration afterwards.
+     * Off by default, a showing SuperToast is never interrupted.
+     *
+     * @param isPreemptive true to enable preemption
+     */
+    public static void setPreemptive(boolean isPreemptive) {
+        Toaster.getInstance().setPreemptive(isPreemptive);
+    }
+
+    /**
+     * Returns true if a more important SuperToast may interrupt a showing SuperToast.
+     *
+     * @return true if preemptive
+     */
+    public static boolean isPreemptive() {
+        return Toaster.getInstance().isPreemptive();
+    }
+
+    /**
+     * Returns the running counters of the SuperToast queue such as the number of
+     * SuperToasts evicted by the overflow policy.
+     *
+     * @return The queue metrics
+     */
+    public static ToastMetrics getMetrics() {
+        return Toaster.getInstance().getMetrics();
+    }
+
+    /**
+     * Creates a simple SuperToast. Don't forget to call {@link SuperToast#show()}.
+     *
+     * @param context A valid Context
+     * @param text The desired text to be shown
+     * @param duration The desired duration of the SuperToast
+     *                      
+     * @return The newly created SuperToast
+     */
+    public static SuperToast create(@NonNull Context context, @NonNull String text,
+                                    @Style.Duration int duration) {
+        return new SuperToast(context)
+                .setText(text)
+                .setDuration(duration);
+    }
+
+    /**
+     * Creates a simple SuperToast. Don't forget to call {@link SuperToast#show()}.
+     *
+     * @param context A valid Context
+     * @param text The desired text to be shown
+     * @param duration The desired duration of the SuperToast
+     * @param style The desired Style of the SuperToast
+     *
+     * @return The newly created SuperToast
+     */
+    public static SuperToast create(@NonNull Context context, @NonNull String text,
+                                    @Style.Duration int duration, @NonNull Style style) {
+        return new SuperToast(context, style)
+                .setText(text)
+                .setDuration(duration);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.List;
+
+/**
+ * Hashed timing wheel of {@link ToastRecord}s scheduled to be shown later. Every slot
+ * covers one tick and holds an intrusive doubly linked list of records, so scheduling
+ * and cancelling are O(1) no matter how many records are waiting. Deadlines further
+ * away than one rotation simply stay in their slot until their tick comes around.
+ * This class cannot (and should not) be used directly.
+ */
+final class TimerWheel {
+
+    static final int NOT_SCHEDULED = -1;
+
+    // Resolution in milliseconds and number of slots, one rotation covers about five seconds
+    private static final int TICK_DURATION = 10;
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final ToastRecord[] mSlots = new ToastRecord[WHEEL_SIZE];
+    private int mSize;
+
+    // The last tick that has been processed
+    private long mCurrentTick;
+
+    /**
+     * Schedules a record. A record can only be scheduled once at a time.
+     *
+     * @param record The record to schedule
+     * @param deadline The uptime at which the record is due
+     * @param now The current uptime
+     */
+    void schedule(ToastRecord record, long deadline, long now) {
+        if (record.timerSlot != NOT_SCHEDULED) {
+            throw new IllegalStateException("ToastRecord is already scheduled.");
+        }
+
+        // An idle wheel has not been advanced, catch it up first
+        if (mSize == 0) mCurrentTick = now / TICK_DURATION;
+
+        final long tick = Math.max((deadline + TICK_DURATION - 1) / TICK_DURATION, mCurrentTick + 1);
+        final int slot = (int) (tick & WHEEL_MASK);
+        record.timerTick = tick;
+        record.timerSlot = slot;
+        record.timerPrevious = null;
+        record.timerNext = mSlots[slot];
+        if (mSlots[slot] != null) mSlots[slot].timerPrevious = record;
+        mSlots[slot] = record;
+        mSize++;
+    }
+
+    /**
+     * Cancels a scheduled record.
+     *
+     * @param record The record to cancel
+     * @return true if the record was scheduled
+     */
+    boolean cancel(ToastRecord record) {
+        if (record.timerSlot == NOT_SCHEDULED) return false;
+        unlink(record);
+        return true;
+    }
+
+    /**
+     * Removes every record that is due at the given time.
+     *
+     * @param now The current uptime
+     * @param due Receives the due records in no particular order
+     */
+    void advance(long now, List<ToastRecord> due) {
+        final long nowTick = now / TICK_DURATION;
+        if (nowTick <= mCurrentTick) return;
+
+        // Visiting a slot more than once per call gains nothing
+        final long lastTick = mCurrentTick + Math.min(nowTick - mCurrentTick, WHEEL_SIZE);
+        for (long tick = mCurrentTick + 1; tick <= lastTick && mSize > 0; tick++) {
+            ToastRecord record = mSlots[(int) (tick & WHEEL_MASK)];
+            while (record != null) {
+                final ToastRecord next = record.timerNext;
+                if (record.timerTick <= nowTick) {
+                    unlink(record);
+                    due.add(record);
+                }
+                record = next;
+            }
+        }
+        mCurrentTick = nowTick;
+    }
+
+    /**
+     * Returns the uptime of the next tick whose slot holds a record. That record may
+     * be due in a later rotation, in which case the wheel simply has to be woken again.
+     *
+     * @return The uptime to wake up at or -1 if nothing is scheduled
+     */
+    long getNextWakeUp() {
+        if (mSize == 0) return -1;
+        for (long tick = mCurrentTick + 1; tick <= mCurrentTick + WHEEL_SIZE; tick++) {
+            if (mSlots[(int) (tick & WHEEL_MASK)] != null) return tick * TICK_DURATION;
+        }
+        return -1;
+    }
+
+    /**
+     * Cancels every scheduled record.
+     */
+    void clear() {
+        for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+            while (mSlots[slot] != null) unlink(mSlots[slot]);
+        }
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    private void unlink(ToastRecord record) {
+        if (record.timerPrevious != null) record.timerPrevious.timerNext = record.timerNext;
+        else mSlots[record.timerSlot] = record.timerNext;
+        if (record.timerNext != null) record.timerNext.timerPrevious = record.timerPrevious;
+        record.timerPrevious = null;
+        record.timerNext = null;
+        record.timerSlot = NOT_SCHEDULED;
+        mSize--;
+    }
+}
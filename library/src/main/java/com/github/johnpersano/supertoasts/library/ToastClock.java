@@ -0,0 +1,32 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * The time source of the SuperToast queue. Durations, deadlines, time to live, rate limits
+ * and aging are all measured in the uptime of this clock, which is
+ * {@link android.os.SystemClock#uptimeMillis()} on the main thread and virtual time in a
+ * {@link VirtualClock}.
+ */
+public interface ToastClock {
+
+    /**
+     * Returns the current uptime.
+     *
+     * @return The uptime in milliseconds
+     */
+    long uptimeMillis();
+}
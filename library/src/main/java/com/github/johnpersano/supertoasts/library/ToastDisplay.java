@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.view.Choreographer;
+
+import java.util.List;
+
+/**
+ * Puts the Views of SuperToasts on screen for the {@link Toaster}. The Toaster decides what
+ * is shown when, a ToastDisplay knows where a SuperToast goes and how it is attached and
+ * detached. Every method is called on the executor thread. The Toaster of an app uses the
+ * WindowManager and ViewGroups, a headless display lets the Toaster run on a plain JVM.
+ * This class cannot (and should not) be used directly.
+ */
+interface ToastDisplay {
+
+    // Returned by detach(SuperToast) if the display calls Callback.onReleased() itself
+    long RELEASED_BY_DISPLAY = -1;
+
+    /**
+     * Reports what happens on screen back to the Toaster, always on the executor thread.
+     */
+    interface Callback {
+
+        /**
+         * The host of one or more targets, such as an Activity, started or stopped.
+         *
+         * @param host The host returned by {@link #getHost(SuperToast)}
+         * @param isVisible true if the host can be seen again
+         */
+        void onHostVisibilityChanged(Object host, boolean isVisible);
+
+        /**
+         * The host of one or more targets, such as an Activity, was destroyed. Its
+         * SuperToasts can never be shown again.
+         *
+         * @param host The host returned by {@link #getHost(SuperToast)}
+         */
+        void onHostDestroyed(Object host);
+
+        /**
+         * A detached SuperToast has been completely removed and its slot is free.
+         *
+         * @param superToast The SuperToast that was removed
+         */
+        void onReleased(SuperToast superToast);
+
+        /**
+         * A SuperToast of a stacked target changed its height.
+         *
+         * @param target The target returned by {@link #getTarget(SuperToast)}
+         */
+        void onTargetLayoutChanged(Object target);
+
+        /**
+         * The frame requested with {@link #scheduleFrame()} is drawn next.
+         */
+        void onFrame();
+    }
+
+    void setCallback(Callback callback);
+
+    /**
+     * Returns the display target of a SuperToast. Every target has its own queue.
+     *
+     * @param superToast The SuperToast to be shown
+     * @return The target, never null
+     */
+    Object getTarget(SuperToast superToast);
+
+    /**
+     * Returns the host whose visibility pauses and resumes the queue of a SuperToast.
+     *
+     * @param superToast The first SuperToast of a new queue
+     * @return The host or null if the queue is never paused
+     */
+    Object getHost(SuperToast superToast);
+
+    boolean isHostVisible(Object host);
+
+    boolean isShowing(SuperToast superToast);
+
+    /**
+     * Inflates and styles the View of a SuperToast before it is attached for the first
+     * time. A suspended or paused SuperToast is attached again without being prepared.
+     *
+     * @param superToast The SuperToast to be shown
+     */
+    void prepare(SuperToast superToast);
+
+    /**
+     * Attaches the View of a prepared SuperToast and starts its show animation.
+     *
+     * @param superToast The SuperToast to be shown
+     * @param isStacked true if its target shows more than one SuperToast at once
+     * @return false if the SuperToast could not be attached and its slot should be freed
+     */
+    boolean attach(SuperToast superToast, boolean isStacked);
+
+    /**
+     * Starts the hide animation of a dismissed SuperToast or detaches its View.
+     *
+     * @param superToast The SuperToast to be removed
+     * @return The milliseconds after which its slot is free or {@link #RELEASED_BY_DISPLAY}
+     */
+    long detach(SuperToast superToast);
+
+    /**
+     * Takes the View of a SuperToast off screen right away, without animation or listeners.
+     *
+     * @param superToast The SuperToast that is suspended or cancelled
+     */
+    void remove(SuperToast superToast);
+
+    /**
+     * Offsets the showing SuperToasts of a stacked target so they do not overlap.
+     *
+     * @param showing The records of the showing SuperToasts in show order
+     */
+    void restack(List<ToastRecord> showing);
+
+    /**
+     * Calls {@link Callback#onFrame()} once on the next frame.
+     */
+    void scheduleFrame();
+
+    void cancelFrame();
+
+    /**
+     * Posts a callback to the next Choreographer frame.
+     *
+     * @param frameCallback The callback to run on the next frame
+     */
+    void postFrameCallback(Choreographer.FrameCallback frameCallback);
+}
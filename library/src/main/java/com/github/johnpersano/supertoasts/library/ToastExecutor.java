@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * Runs the work of the SuperToast queue on a single thread. Every queue is only ever
+ * touched by the tasks of its executor, which is the main looper for the SuperToasts
+ * of an app and a {@link VirtualClock} when toast traffic is replayed on a plain JVM.
+ */
+public interface ToastExecutor {
+
+    /**
+     * Runs a task as soon as possible. May be called from any thread.
+     *
+     * @param task The task to run
+     */
+    void execute(Runnable task);
+
+    /**
+     * Runs a task once the {@link ToastClock} reaches the given uptime. May be called
+     * from any thread.
+     *
+     * @param task The task to run
+     * @param uptime The uptime to run the task at
+     */
+    void executeAt(Runnable task, long uptime);
+
+    /**
+     * Removes every run of a task that has not started yet.
+     *
+     * @param task The task to cancel
+     */
+    void cancel(Runnable task);
+
+    /**
+     * Returns true if called on the thread the tasks run on.
+     *
+     * @return true on the executor thread
+     */
+    boolean isExecutorThread();
+}
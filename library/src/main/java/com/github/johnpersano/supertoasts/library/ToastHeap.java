@@ -0,0 +1,247 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Array backed binary min-heap of {@link ToastRecord}s. Unlike {@link java.util.PriorityQueue}
+ * every record remembers its own slot so removing or reordering an arbitrary record is
+ * O(log n) instead of a linear search. A batch of changes can skip the ordering with
+ * {@link #addLazily(ToastRecord)} and have the heap rebuilt once in O(n) when it is read.
+ * This class cannot (and should not) be used directly.
+ */
+final class ToastHeap implements Iterable<ToastRecord> {
+
+    static final int NOT_QUEUED = -1;
+
+    // Which of the ToastRecord's heap indices a heap maintains, a record can be in one of each
+    static final int PENDING_INDEX = 0;
+    static final int TIMER_INDEX = 1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<ToastRecord> mComparator;
+    private final int mIndex;
+    private ToastRecord[] mRecords;
+    private int mSize;
+
+    // False while lazily added records have not been sifted into place
+    private boolean mIsOrdered = true;
+
+    ToastHeap(Comparator<ToastRecord> comparator, int index) {
+        this.mComparator = comparator;
+        this.mIndex = index;
+        this.mRecords = new ToastRecord[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a record to the heap. A record can only be held by one heap per index at a time.
+     *
+     * @param record The record to add
+     */
+    void add(ToastRecord record) {
+        if (record.heapIndices[mIndex] != NOT_QUEUED) {
+            throw new IllegalStateException("ToastRecord is already queued.");
+        }
+
+        append(record);
+        if (mIsOrdered) siftUp(mSize - 1);
+    }
+
+    /**
+     * Adds a record without restoring the heap order. The order is restored in one pass
+     * before the heap is next read, which is cheaper than sifting every record of a batch.
+     *
+     * @param record The record to add
+     */
+    void addLazily(ToastRecord record) {
+        if (record.heapIndices[mIndex] != NOT_QUEUED) {
+            throw new IllegalStateException("ToastRecord is already queued.");
+        }
+
+        append(record);
+        mIsOrdered = false;
+    }
+
+    /**
+     * Returns the smallest record without removing it.
+     *
+     * @return The head of the heap or null if empty
+     */
+    ToastRecord peek() {
+        ensureOrdered();
+        return mSize == 0 ? null : mRecords[0];
+    }
+
+    /**
+     * Removes and returns the smallest record.
+     *
+     * @return The head of the heap or null if empty
+     */
+    ToastRecord poll() {
+        if (mSize == 0) return null;
+        ensureOrdered();
+        final ToastRecord head = mRecords[0];
+        removeAt(0);
+        return head;
+    }
+
+    /**
+     * Removes a record from anywhere in the heap.
+     *
+     * @param record The record to remove
+     * @return true if the record was held by this heap
+     */
+    boolean remove(ToastRecord record) {
+        if (!contains(record)) return false;
+        removeAt(record.heapIndices[mIndex]);
+        return true;
+    }
+
+    /**
+     * Restores the heap order after the ordering key of a record has changed.
+     *
+     * @param record The record that changed
+     */
+    void update(ToastRecord record) {
+        if (!contains(record) || !mIsOrdered) return;
+        if (!siftUp(record.heapIndices[mIndex])) siftDown(record.heapIndices[mIndex]);
+    }
+
+    boolean contains(ToastRecord record) {
+        final int index = record.heapIndices[mIndex];
+        return index >= 0 && index < mSize && mRecords[index] == record;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mRecords[i].heapIndices[mIndex] = NOT_QUEUED;
+            mRecords[i] = null;
+        }
+        mSize = 0;
+        mIsOrdered = true;
+    }
+
+    /**
+     * Iterates the records in heap (array) order. The head is always returned first.
+     */
+    @Override
+    public Iterator<ToastRecord> iterator() {
+        ensureOrdered();
+        return new Iterator<ToastRecord>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < mSize;
+            }
+
+            @Override
+            public ToastRecord next() {
+                if (index >= mSize) throw new NoSuchElementException();
+                return mRecords[index++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void append(ToastRecord record) {
+        if (mSize == mRecords.length) mRecords = Arrays.copyOf(mRecords, mSize * 2);
+        mRecords[mSize] = record;
+        record.heapIndices[mIndex] = mSize++;
+    }
+
+    /**
+     * Restores the heap order after lazy additions bottom-up in O(n).
+     */
+    private void ensureOrdered() {
+        if (mIsOrdered) return;
+        for (int i = (mSize >>> 1) - 1; i >= 0; i--) siftDown(i);
+        mIsOrdered = true;
+    }
+
+    private void removeAt(int index) {
+        final ToastRecord removed = mRecords[index];
+        removed.heapIndices[mIndex] = NOT_QUEUED;
+
+        final int last = --mSize;
+        if (index == last) {
+            mRecords[last] = null;
+            return;
+        }
+
+        // Move the last record into the hole and restore the order from there
+        final ToastRecord moved = mRecords[last];
+        mRecords[last] = null;
+        mRecords[index] = moved;
+        moved.heapIndices[mIndex] = index;
+        if (mIsOrdered && !siftUp(index)) siftDown(index);
+    }
+
+    /**
+     * @return true if the record at the index moved
+     */
+    private boolean siftUp(int index) {
+        final ToastRecord record = mRecords[index];
+        final int start = index;
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            final ToastRecord parentRecord = mRecords[parent];
+            if (mComparator.compare(record, parentRecord) >= 0) break;
+            mRecords[index] = parentRecord;
+            parentRecord.heapIndices[mIndex] = index;
+            index = parent;
+        }
+        mRecords[index] = record;
+        record.heapIndices[mIndex] = index;
+        return index != start;
+    }
+
+    private void siftDown(int index) {
+        final ToastRecord record = mRecords[index];
+        final int half = mSize >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            final int right = child + 1;
+            if (right < mSize && mComparator.compare(mRecords[right], mRecords[child]) < 0) {
+                child = right;
+            }
+            if (mComparator.compare(record, mRecords[child]) <= 0) break;
+            mRecords[index] = mRecords[child];
+            mRecords[index].heapIndices[mIndex] = index;
+            index = child;
+        }
+        mRecords[index] = record;
+        record.heapIndices[mIndex] = index;
+    }
+}
@@ -0,0 +1,465 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Running counters of the SuperToast queue. The counters are only ever incremented
+ * so they can be sampled periodically and alerted on. Get the current instance via
+ * {@link SuperToast#getMetrics()}.
+ */
+@SuppressWarnings("UnusedDeclaration")
+public final class ToastMetrics {
+
+    /**
+     * Running wait time counters of the SuperToasts of one source. Get the instance of a
+     * source via {@link ToastMetrics#getSourceStats(String)}.
+     */
+    public static final class SourceStats {
+
+        // Written by the main thread only, volatile so that any thread may sample them
+        private volatile long mDisplayedCount;
+        private volatile long mTotalWaitTime;
+        private volatile long mMaxWaitTime;
+
+        private SourceStats() {
+            // Do nothing
+        }
+
+        /**
+         * Returns the number of SuperToasts of the source that were displayed.
+         *
+         * @return The displayed count
+         */
+        public long getDisplayedCount() {
+            return mDisplayedCount;
+        }
+
+        /**
+         * Returns the time all displayed SuperToasts of the source waited before they
+         * were displayed.
+         *
+         * @return The total wait time in milliseconds
+         */
+        public long getTotalWaitTime() {
+            return mTotalWaitTime;
+        }
+
+        /**
+         * Returns the average time a SuperToast of the source waited before it was displayed.
+         *
+         * @return The average wait time in milliseconds, zero if nothing was displayed
+         */
+        public long getAverageWaitTime() {
+            final long displayedCount = mDisplayedCount;
+            return displayedCount > 0 ? mTotalWaitTime / displayedCount : 0;
+        }
+
+        /**
+         * Returns the longest time a SuperToast of the source waited before it was displayed.
+         *
+         * @return The maximum wait time in milliseconds
+         */
+        public long getMaxWaitTime() {
+            return mMaxWaitTime;
+        }
+    }
+
+    // Written by the main thread only, volatile so that any thread may sample them
+    private volatile long mRejectedCount;
+    private volatile long mDroppedOldestCount;
+    private volatile long mDroppedLowestPriorityCount;
+    private volatile long mOverflowCoalescedCount;
+    private volatile long mRateLimitedDroppedCount;
+    private volatile long mRateLimitedCoalescedCount;
+    private volatile long mRateLimitedDeferredCount;
+    private volatile long mLooperMessageCount;
+    private volatile long mPreemptionCount;
+    private volatile long mExpiredCount;
+    private volatile long mReplacedCount;
+    private volatile long mDeadlineRejectedCount;
+    private volatile long mDeadlineDowngradedCount;
+    private volatile long mBatchCount;
+    private volatile long mBatchedOperationCount;
+    private volatile long mLastBatchTimeNanos;
+    private volatile long mMaxBatchTimeNanos;
+    private volatile long mTotalBatchTimeNanos;
+
+    // Wait times per priority level in power of two millisecond buckets, bucket i holds
+    // waits below 2^i milliseconds and at least 2^(i - 1)
+    private static final int WAIT_TIME_BUCKETS = 32;
+    private final AtomicLongArray mWaitTimes = new AtomicLongArray(
+            Style.PRIORITY_LOW * WAIT_TIME_BUCKETS);
+    private final AtomicLongArray mMaxWaitTimes = new AtomicLongArray(Style.PRIORITY_LOW);
+
+    // Wait times by source, SuperToasts without a source are filed under the empty string
+    private final ConcurrentHashMap<String, SourceStats> mSourceStats = new ConcurrentHashMap<>();
+
+    ToastMetrics() {
+        // Do nothing
+    }
+
+    /**
+     * Records a SuperToast that overflowed its queue and was handled by an overflow policy.
+     *
+     * @param overflowPolicy The action that was taken
+     */
+    void onOverflow(@Style.OverflowPolicy int overflowPolicy) {
+        switch (overflowPolicy) {
+            case Style.OVERFLOW_DROP_OLDEST: mDroppedOldestCount++; break;
+            case Style.OVERFLOW_DROP_LOWEST_PRIORITY: mDroppedLowestPriorityCount++; break;
+            case Style.OVERFLOW_COALESCE: mOverflowCoalescedCount++; break;
+            default: mRejectedCount++; break;
+        }
+    }
+
+    /**
+     * Records a SuperToast that was shown faster than the rate limit allows.
+     *
+     * @param rateLimitPolicy The action that was taken
+     */
+    void onRateLimited(@Style.RateLimitPolicy int rateLimitPolicy) {
+        switch (rateLimitPolicy) {
+            case Style.RATE_LIMIT_COALESCE: mRateLimitedCoalescedCount++; break;
+            case Style.RATE_LIMIT_DEFER: mRateLimitedDeferredCount++; break;
+            default: mRateLimitedDroppedCount++; break;
+        }
+    }
+
+    /**
+     * Records a showing SuperToast suspended by a more important one.
+     */
+    void onPreemption() {
+        mPreemptionCount++;
+    }
+
+    /**
+     * Records a pending SuperToast dropped because its time to live ran out.
+     */
+    void onExpired() {
+        mExpiredCount++;
+    }
+
+    /**
+     * Records a pending SuperToast dropped by its scheduler in favour of a newer one.
+     */
+    void onReplaced() {
+        mReplacedCount++;
+    }
+
+    /**
+     * Records a SuperToast that could not be displayed by its deadline when it was shown.
+     *
+     * @param deadlinePolicy The action that was taken
+     */
+    void onDeadlineMissed(@Style.DeadlinePolicy int deadlinePolicy) {
+        if (deadlinePolicy == Style.DEADLINE_DOWNGRADE) mDeadlineDowngradedCount++;
+        else mDeadlineRejectedCount++;
+    }
+
+    /**
+     * Records a message dispatched to the Toaster by the main looper.
+     */
+    void onLooperMessage() {
+        mLooperMessageCount++;
+    }
+
+    /**
+     * Records a batch of show, dismiss and cancel operations applied on the main thread.
+     *
+     * @param operations The number of operations in the batch
+     * @param batchTimeNanos The main thread time the batch took
+     */
+    void onBatch(int operations, long batchTimeNanos) {
+        mBatchCount++;
+        mBatchedOperationCount += operations;
+        mLastBatchTimeNanos = batchTimeNanos;
+        mTotalBatchTimeNanos += batchTimeNanos;
+        if (batchTimeNanos > mMaxBatchTimeNanos) mMaxBatchTimeNanos = batchTimeNanos;
+    }
+
+    /**
+     * Records how long a SuperToast waited between being shown and being displayed.
+     *
+     * @param priorityLevel The priority level of the SuperToast
+     * @param source The source of the SuperToast or null
+     * @param waitTime The wait time in milliseconds
+     */
+    void onDisplayed(@Style.PriorityLevel int priorityLevel, String source, long waitTime) {
+        final int level = getLevelIndex(priorityLevel);
+        final int bucket = Math.min(WAIT_TIME_BUCKETS - 1,
+                64 - Long.numberOfLeadingZeros(Math.max(0, waitTime)));
+        mWaitTimes.incrementAndGet(level * WAIT_TIME_BUCKETS + bucket);
+        if (waitTime > mMaxWaitTimes.get(level)) mMaxWaitTimes.set(level, waitTime);
+
+        final String key = source != null ? source : "";
+        SourceStats sourceStats = mSourceStats.get(key);
+        if (sourceStats == null) {
+            sourceStats = new SourceStats();
+            mSourceStats.put(key, sourceStats);
+        }
+        sourceStats.mDisplayedCount++;
+        sourceStats.mTotalWaitTime += Math.max(0, waitTime);
+        if (waitTime > sourceStats.mMaxWaitTime) sourceStats.mMaxWaitTime = waitTime;
+    }
+
+    private static int getLevelIndex(int priorityLevel) {
+        return Math.min(Style.PRIORITY_LOW, Math.max(Style.PRIORITY_HIGH, priorityLevel)) - 1;
+    }
+
+    /**
+     * Returns the given percentile of the time SuperToasts of a priority level waited
+     * before they were displayed. The result is an upper bound that is accurate to the
+     * next power of two, so a p99 of 512 means 99% waited less than 512 milliseconds.
+     *
+     * @param priorityLevel The priority level of the SuperToasts
+     * @param percentile The desired percentile between 0 and 100, for example 99
+     * @return The wait time percentile in milliseconds, zero if nothing was displayed
+     */
+    public long getWaitTimePercentile(@Style.PriorityLevel int priorityLevel, double percentile) {
+        final int offset = getLevelIndex(priorityLevel) * WAIT_TIME_BUCKETS;
+        long total = 0;
+        for (int i = 0; i < WAIT_TIME_BUCKETS; i++) total += mWaitTimes.get(offset + i);
+        if (total == 0) return 0;
+
+        final long rank = (long) Math.ceil(total * Math.min(100d, Math.max(0d, percentile)) / 100d);
+        long count = 0;
+        for (int i = 0; i < WAIT_TIME_BUCKETS; i++) {
+            count += mWaitTimes.get(offset + i);
+            if (count >= Math.max(1, rank)) return 1L << i;
+        }
+        return 1L << (WAIT_TIME_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the longest time a SuperToast of a priority level waited before it was displayed.
+     *
+     * @param priorityLevel The priority level of the SuperToasts
+     * @return The maximum wait time in milliseconds
+     */
+    public long getMaxWaitTime(@Style.PriorityLevel int priorityLevel) {
+        return mMaxWaitTimes.get(getLevelIndex(priorityLevel));
+    }
+
+    /**
+     * Returns the wait time counters of a source, see {@link SuperToast#setSource(String)}.
+     *
+     * @param source The source tag, null or the empty string for SuperToasts without a source
+     * @return The counters of the source or null if none of its SuperToasts was displayed
+     */
+    public SourceStats getSourceStats(String source) {
+        return mSourceStats.get(source != null ? source : "");
+    }
+
+    /**
+     * Returns every source that had a SuperToast displayed. SuperToasts without a source
+     * are listed under the empty string.
+     *
+     * @return An unmodifiable view of the source tags
+     */
+    public Set<String> getSources() {
+        return Collections.unmodifiableSet(mSourceStats.keySet());
+    }
+
+    /**
+     * Returns the number of new SuperToasts that were not queued because their queue was full.
+     * This includes overflowing SuperToasts that had nothing to coalesce into or a lower
+     * priority level than everything pending.
+     *
+     * @return The rejected count
+     */
+    public long getRejectedCount() {
+        return mRejectedCount;
+    }
+
+    /**
+     * Returns the number of pending SuperToasts evicted by {@link Style#OVERFLOW_DROP_OLDEST}.
+     *
+     * @return The dropped oldest count
+     */
+    public long getDroppedOldestCount() {
+        return mDroppedOldestCount;
+    }
+
+    /**
+     * Returns the number of pending SuperToasts evicted by
+     * {@link Style#OVERFLOW_DROP_LOWEST_PRIORITY}.
+     *
+     * @return The dropped lowest priority count
+     */
+    public long getDroppedLowestPriorityCount() {
+        return mDroppedLowestPriorityCount;
+    }
+
+    /**
+     * Returns the number of overflowing SuperToasts folded into an identical SuperToast by
+     * {@link Style#OVERFLOW_COALESCE}. Duplicates coalesced by
+     * {@link SuperToast#setCoalesceDuplicates(boolean)} are not overflows and not counted.
+     *
+     * @return The overflow coalesced count
+     */
+    public long getOverflowCoalescedCount() {
+        return mOverflowCoalescedCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts dropped by the rate limiter. This includes
+     * SuperToasts that had nothing to coalesce into under {@link Style#RATE_LIMIT_COALESCE}.
+     *
+     * @return The rate limited dropped count
+     */
+    public long getRateLimitedDroppedCount() {
+        return mRateLimitedDroppedCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts folded into an identical SuperToast by the rate limiter.
+     *
+     * @return The rate limited coalesced count
+     */
+    public long getRateLimitedCoalescedCount() {
+        return mRateLimitedCoalescedCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts the rate limiter held back until a token was available.
+     *
+     * @return The rate limited deferred count
+     */
+    public long getRateLimitedDeferredCount() {
+        return mRateLimitedDeferredCount;
+    }
+
+    /**
+     * Returns the number of showing SuperToasts suspended by a more important SuperToast.
+     *
+     * @return The preemption count
+     */
+    public long getPreemptionCount() {
+        return mPreemptionCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts dropped because they waited longer than their
+     * time to live.
+     *
+     * @return The expired count
+     */
+    public long getExpiredCount() {
+        return mExpiredCount;
+    }
+
+    /**
+     * Returns the number of pending SuperToasts dropped by their {@link ToastScheduler}
+     * because a newer SuperToast replaced them, for example under
+     * {@link Style#SCHEDULER_LATEST_WINS}.
+     *
+     * @return The replaced count
+     */
+    public long getReplacedCount() {
+        return mReplacedCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts dropped by {@link Style#DEADLINE_REJECT} because
+     * the backlog would have kept them from being displayed by their deadline.
+     *
+     * @return The deadline rejected count
+     */
+    public long getDeadlineRejectedCount() {
+        return mDeadlineRejectedCount;
+    }
+
+    /**
+     * Returns the number of SuperToasts queued without their deadline by
+     * {@link Style#DEADLINE_DOWNGRADE} because the backlog would have kept them from being
+     * displayed by their deadline.
+     *
+     * @return The deadline downgraded count
+     */
+    public long getDeadlineDowngradedCount() {
+        return mDeadlineDowngradedCount;
+    }
+
+    /**
+     * Returns the number of messages the main looper dispatched to the SuperToast queue.
+     *
+     * @return The looper message count
+     */
+    public long getLooperMessageCount() {
+        return mLooperMessageCount;
+    }
+
+    /**
+     * Returns the number of batches applied on the main thread. Every batch applies all
+     * show, dismiss and cancel operations collected since the previous one.
+     *
+     * @return The batch count
+     */
+    public long getBatchCount() {
+        return mBatchCount;
+    }
+
+    /**
+     * Returns the number of show, dismiss and cancel operations applied by all batches.
+     *
+     * @return The batched operation count
+     */
+    public long getBatchedOperationCount() {
+        return mBatchedOperationCount;
+    }
+
+    /**
+     * Returns the main thread time of the most recent batch in nanoseconds.
+     *
+     * @return The last batch time
+     */
+    public long getLastBatchTimeNanos() {
+        return mLastBatchTimeNanos;
+    }
+
+    /**
+     * Returns the main thread time of the slowest batch in nanoseconds.
+     *
+     * @return The maximum batch time
+     */
+    public long getMaxBatchTimeNanos() {
+        return mMaxBatchTimeNanos;
+    }
+
+    /**
+     * Returns the main thread time of all batches in nanoseconds.
+     *
+     * @return The total batch time
+     */
+    public long getTotalBatchTimeNanos() {
+        return mTotalBatchTimeNanos;
+    }
+
+    /**
+     * Returns the total number of SuperToasts that overflowed their queue.
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return mRejectedCount + mDroppedOldestCount + mDroppedLowestPriorityCount
+                + mOverflowCoalescedCount;
+    }
+}
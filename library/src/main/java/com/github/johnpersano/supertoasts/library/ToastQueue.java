@@ -0,0 +1,353 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The pending and showing {@link SuperToast}s of a single display target. SuperToasts
+ * share the WindowManager as their target while SuperActivityToasts use their ViewGroup.
+ * The {@link Toaster} schedules every ToastQueue independently so a backlog in one target
+ * never blocks another. This class cannot (and should not) be used directly.
+ */
+final class ToastQueue {
+
+    /**
+     * Identifies duplicate SuperToasts by their message, type and appearance. The fields are
+     * copied by {@link #set(SuperToast)}, so one key can be refilled for every lookup
+     * instead of allocating one per shown SuperToast. A key must not be refilled while it
+     * is in a map.
+     */
+    static final class CoalesceKey {
+
+        private Class<?> mClass;
+        private String mMessage;
+        private String mButtonText;
+        private int mType;
+        private int mPriorityLevel;
+        private int mColor;
+        private int mPriorityColor;
+        private int mFrame;
+        private int mAnimations;
+        private int mGravity;
+        private int mMessageTypefaceStyle;
+        private int mMessageTextColor;
+        private int mMessageTextSize;
+        private int mMessageIconPosition;
+        private int mMessageIconResource;
+        private int mButtonIconResource;
+        private int mHashCode;
+
+        /**
+         * Copies the identifying fields of a SuperToast into this key.
+         *
+         * @param superToast The SuperToast to identify
+         * @return This key
+         */
+        CoalesceKey set(SuperToast superToast) {
+            final Style style = superToast.getStyle();
+            mClass = superToast.getClass();
+            mMessage = style.message;
+            mButtonText = style.buttonText;
+            mType = style.type;
+            mPriorityLevel = style.priorityLevel;
+            mColor = style.color;
+            mPriorityColor = style.priorityColor;
+            mFrame = style.frame;
+            mAnimations = style.animations;
+            mGravity = style.gravity;
+            mMessageTypefaceStyle = style.messageTypefaceStyle;
+            mMessageTextColor = style.messageTextColor;
+            mMessageTextSize = style.messageTextSize;
+            mMessageIconPosition = style.messageIconPosition;
+            mMessageIconResource = style.messageIconResource;
+            mButtonIconResource = style.buttonIconResource;
+
+            int hashCode = mClass.hashCode();
+            hashCode = 31 * hashCode + (mMessage == null ? 0 : mMessage.hashCode());
+            hashCode = 31 * hashCode + (mButtonText == null ? 0 : mButtonText.hashCode());
+            hashCode = 31 * hashCode + mType;
+            hashCode = 31 * hashCode + mPriorityLevel;
+            hashCode = 31 * hashCode + mColor;
+            hashCode = 31 * hashCode + mPriorityColor;
+            hashCode = 31 * hashCode + mFrame;
+            hashCode = 31 * hashCode + mAnimations;
+            hashCode = 31 * hashCode + mGravity;
+            hashCode = 31 * hashCode + mMessageTypefaceStyle;
+            hashCode = 31 * hashCode + mMessageTextColor;
+            hashCode = 31 * hashCode + mMessageTextSize;
+            hashCode = 31 * hashCode + mMessageIconPosition;
+            hashCode = 31 * hashCode + mMessageIconResource;
+            mHashCode = 31 * hashCode + mButtonIconResource;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof CoalesceKey)) return false;
+            final CoalesceKey other = (CoalesceKey) object;
+            return mHashCode == other.mHashCode && mClass == other.mClass
+                    && mType == other.mType && mPriorityLevel == other.mPriorityLevel
+                    && mColor == other.mColor && mPriorityColor == other.mPriorityColor
+                    && mFrame == other.mFrame && mAnimations == other.mAnimations
+                    && mGravity == other.mGravity
+                    && mMessageTypefaceStyle == other.mMessageTypefaceStyle
+                    && mMessageTextColor == other.mMessageTextColor
+                    && mMessageTextSize == other.mMessageTextSize
+                    && mMessageIconPosition == other.mMessageIconPosition
+                    && mMessageIconResource == other.mMessageIconResource
+                    && mButtonIconResource == other.mButtonIconResource
+                    && (mMessage == null ? other.mMessage == null : mMessage.equals(other.mMessage))
+                    && (mButtonText == null ? other.mButtonText == null
+                            : mButtonText.equals(other.mButtonText));
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+
+    // The WindowManager or ViewGroup the SuperToasts are attached to
+    final Object target;
+
+    // Decides which pending SuperToast is shown next
+    ToastScheduler scheduler;
+
+    // SuperToasts waiting for a free slot in enqueue order, only modify through offer(),
+    // take() and remove()
+    final LinkedHashSet<ToastRecord> pending = new LinkedHashSet<>();
+
+    // The pending SuperToasts by priority level for O(1) eviction
+    private final TreeMap<Integer, LinkedHashSet<ToastRecord>> mPriorityLevels = new TreeMap<>();
+
+    // Slot time the pending SuperToasts with a deadline or a time to live still need,
+    // kept up to date so the deadline admission never walks the pending SuperToasts
+    long deadlineWork;
+
+    // Showing (or hiding) SuperToasts are pinned here in show order instead of in the heap
+    final List<ToastRecord> showing = new ArrayList<>();
+
+    // True while the Toaster has this queue scheduled for its next batch
+    boolean isDirty;
+
+    // The Activity of a SuperActivityToast queue and whether it is paused while it is stopped
+    Object host;
+    boolean isPaused;
+
+    // Pending or showing SuperToasts that accept duplicates
+    final HashMap<CoalesceKey, ToastRecord> coalescable = new HashMap<>();
+
+    ToastQueue(Object target, ToastScheduler scheduler) {
+        this.target = target;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a SuperToast to the pending SuperToasts and hands it to the scheduler.
+     *
+     * @param record The record of the SuperToast
+     * @param now The current uptime
+     * @return The record of a pending SuperToast the scheduler dropped in favour of the
+     * new one, possibly the new one itself, or null
+     */
+    ToastRecord offer(ToastRecord record, long now) {
+        pending.add(record);
+        indexPriorityLevel(record);
+        if (EarliestDeadlineScheduler.getDeadline(record) != Long.MAX_VALUE) {
+            record.deadlineWork = record.getSlotTime();
+            deadlineWork += record.deadlineWork;
+        }
+        return unindexReplaced(scheduler.onEnqueue(record.superToast, now));
+    }
+
+    /**
+     * Returns the pending SuperToast the scheduler wants to show next.
+     *
+     * @param now The current uptime
+     * @return The record of the SuperToast or null if nothing should be shown
+     */
+    ToastRecord peek(long now) {
+        final SuperToast superToast = scheduler.nextToShow(now);
+        return superToast != null ? superToast.getRecord() : null;
+    }
+
+    /**
+     * Removes the SuperToast returned by {@link #peek(long)} from the pending SuperToasts
+     * because it is being shown.
+     *
+     * @param record The record of the SuperToast
+     * @param now The current uptime
+     */
+    void take(ToastRecord record, long now) {
+        scheduler.onShow(record.superToast, now);
+        unindex(record);
+    }
+
+    /**
+     * Removes a SuperToast from the pending SuperToasts.
+     *
+     * @param record The record of the SuperToast
+     * @return true if the SuperToast was pending
+     */
+    boolean remove(ToastRecord record) {
+        if (!pending.contains(record)) return false;
+        scheduler.onDismiss(record.superToast);
+        unindex(record);
+        return true;
+    }
+
+    /**
+     * Reorders a pending SuperToast after its priority level or its aging has changed.
+     *
+     * @param record The record of the SuperToast
+     * @param now The current uptime
+     */
+    void update(ToastRecord record, long now) {
+        if (!pending.contains(record)) return;
+        unindexPriorityLevel(record);
+        indexPriorityLevel(record);
+        scheduler.onReprioritize(record.superToast, now);
+    }
+
+    /**
+     * Adds display time to a pending or showing SuperToast whose duration was extended.
+     *
+     * @param record The record of the SuperToast
+     * @param extension The extra display time in milliseconds
+     */
+    void extend(ToastRecord record, long extension) {
+        if (record.deadlineWork == 0) return;
+        record.deadlineWork += extension;
+        deadlineWork += extension;
+    }
+
+    /**
+     * Hands every pending SuperToast over to a new scheduler in enqueue order.
+     *
+     * @param newScheduler The scheduler that takes over
+     * @param now The current uptime
+     * @param replaced Receives the records the new scheduler dropped
+     */
+    void setScheduler(ToastScheduler newScheduler, long now, List<ToastRecord> replaced) {
+        for (ToastRecord record : pending) scheduler.onDismiss(record.superToast);
+        scheduler = newScheduler;
+
+        // Copy first, a replaced record leaves the pending SuperToasts
+        for (ToastRecord record : new ArrayList<>(pending)) {
+            final SuperToast superToast = scheduler.onEnqueue(record.superToast, now);
+            if (superToast != null) replaced.add(unindexReplaced(superToast));
+        }
+    }
+
+    private ToastRecord unindexReplaced(SuperToast superToast) {
+        if (superToast == null) return null;
+        final ToastRecord record = superToast.getRecord();
+        unindex(record);
+        return record;
+    }
+
+    /**
+     * Returns the pending SuperToast that was enqueued first.
+     *
+     * @return The record of the SuperToast or null if nothing is pending
+     */
+    ToastRecord peekOldest() {
+        return pending.isEmpty() ? null : pending.iterator().next();
+    }
+
+    /**
+     * Returns the pending SuperToast that entered the lowest priority level first.
+     *
+     * @return The record of the SuperToast or null if nothing is pending
+     */
+    ToastRecord peekLowestPriority() {
+        final Map.Entry<Integer, LinkedHashSet<ToastRecord>> lowest = mPriorityLevels.lastEntry();
+        return lowest == null ? null : lowest.getValue().iterator().next();
+    }
+
+    /**
+     * Drops every pending SuperToast.
+     */
+    void clearPending() {
+        for (ToastRecord record : pending) {
+            scheduler.onDismiss(record.superToast);
+            record.deadlineWork = 0;
+        }
+        pending.clear();
+        mPriorityLevels.clear();
+        deadlineWork = 0;
+    }
+
+    private void indexPriorityLevel(ToastRecord record) {
+        record.indexedPriorityLevel = record.getEffectivePriorityLevel();
+        LinkedHashSet<ToastRecord> records = mPriorityLevels.get(record.indexedPriorityLevel);
+        if (records == null) {
+            records = new LinkedHashSet<>();
+            mPriorityLevels.put(record.indexedPriorityLevel, records);
+        }
+
+        records.add(record);
+    }
+
+    private void unindexPriorityLevel(ToastRecord record) {
+        final LinkedHashSet<ToastRecord> records = mPriorityLevels.get(record.indexedPriorityLevel);
+        if (records != null && records.remove(record) && records.isEmpty()) {
+            mPriorityLevels.remove(record.indexedPriorityLevel);
+        }
+    }
+
+    private void unindex(ToastRecord record) {
+        pending.remove(record);
+        unindexPriorityLevel(record);
+        deadlineWork -= record.deadlineWork;
+        record.deadlineWork = 0;
+    }
+
+    /**
+     * Stops a SuperToast from accepting duplicates.
+     *
+     * @param record The record of the SuperToast
+     */
+    void removeCoalescable(ToastRecord record) {
+        if (!record.isCoalescable) return;
+        if (coalescable.get(record.coalesceKey) == record) coalescable.remove(record.coalesceKey);
+        record.isCoalescable = false;
+    }
+
+    /**
+     * Returns true if nothing is showing or pending for this target.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return pending.isEmpty() && showing.isEmpty();
+    }
+
+    /**
+     * Returns the number of showing and pending SuperToasts for this target.
+     *
+     * @return The queue size
+     */
+    int size() {
+        return pending.size() + showing.size();
+    }
+}
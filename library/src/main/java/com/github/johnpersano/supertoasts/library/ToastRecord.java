@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+
+/**
+ * Holds the queue bookkeeping of a single {@link SuperToast}. Every SuperToast owns
+ * exactly one record which the {@link Toaster} uses to find it in the queue without
+ * searching. This class cannot (and should not) be used directly.
+ */
+final class ToastRecord {
+
+    final SuperToast superToast;
+
+    // Current slot in the pending and the timer ToastHeap or ToastHeap.NOT_QUEUED
+    final int[] heapIndices = {ToastHeap.NOT_QUEUED, ToastHeap.NOT_QUEUED};
+
+    // Enqueue order assigned by the Toaster, breaks ties between equal priority levels
+    long sequence;
+
+    // The priority level the record is filed under by its ToastQueue while pending
+    int indexedPriorityLevel;
+
+    // Priority levels gained by waiting, only changed by the aging pass of the Toaster
+    int agedLevels;
+
+    // Ordering key of the built-in ToastSchedulers, such as a deadline
+    long schedulerKey;
+
+    // The source flow of the WeightedFairScheduler and the neighbours in that flow, null
+    // while not scheduled by it
+    WeightedFairScheduler.Flow schedulerFlow;
+    ToastRecord schedulerPrevious;
+    ToastRecord schedulerNext;
+
+    // True once the pinned SuperToast has started hiding
+    boolean isDismissing;
+
+    // True once the View has been prepared for the current show, a suspended or paused
+    // SuperToast keeps its View when it is displayed again
+    boolean isPrepared;
+
+    // True while the SuperToast waits for the rate limiter before it is queued
+    boolean isDeferred;
+
+    // The queue of the display target while pending or showing, otherwise null
+    ToastQueue toastQueue;
+
+    // Identifies the SuperToast among its duplicates, allocated once and refilled per show
+    ToastQueue.CoalesceKey coalesceKey;
+
+    // True while the coalesceKey is in the queue and the SuperToast accepts duplicates
+    boolean isCoalescable;
+
+    // Uptime at which the showing SuperToast is removed, or its slot is released once it is
+    // dismissing, zero until it is displayed
+    long dismissAt;
+
+    // Time left of a SuperToast suspended by a more important one or paused with its Activity,
+    // zero if neither
+    long remainingDuration;
+
+    // Uptime the SuperToast was first shown and the uptime it expires while pending, zero if never
+    long enqueuedAt;
+    long expiresAt;
+
+    // Uptime by which the SuperToast should be displayed, zero without a deadline or once
+    // it has been downgraded
+    long deadlineAt;
+
+    // Slot time the record adds to the deadline work of its ToastQueue while pending
+    long deadlineWork;
+
+    // The group the record is indexed under by the Toaster and its neighbours in that group,
+    // null while not indexed
+    String indexedGroup;
+    ToastRecord groupPrevious;
+    ToastRecord groupNext;
+
+    // Position in the TimerWheel while scheduled with SuperToast.showAt(long)
+    int timerSlot = TimerWheel.NOT_SCHEDULED;
+    long timerTick;
+    ToastRecord timerPrevious;
+    ToastRecord timerNext;
+
+    ToastRecord(SuperToast superToast) {
+        this.superToast = superToast;
+    }
+
+    /**
+     * Returns the priority level the record is ordered by, its Style priority level
+     * improved by the levels gained while waiting but never above {@link Style#PRIORITY_HIGH}.
+     *
+     * @return The effective priority level
+     */
+    int getEffectivePriorityLevel() {
+        return Math.max(Style.PRIORITY_HIGH,
+                this.superToast.getStyle().priorityLevel - this.agedLevels);
+    }
+
+    /**
+     * Returns how long the SuperToast holds a display slot once it is displayed. That is its
+     * duration and show animation, or only the time left if it was suspended or paused, and
+     * the hide animation.
+     *
+     * @return The slot time in milliseconds
+     */
+    long getSlotTime() {
+        final long displayTime = this.remainingDuration > 0 ? this.remainingDuration
+                : this.superToast.getStyle().duration + AnimationUtils.SHOW_DURATION;
+        return displayTime + AnimationUtils.HIDE_DURATION;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * Decides in which order the pending SuperToasts of a display target are shown. Every
+ * display target (the WindowManager or a ViewGroup) gets its own scheduler from the
+ * {@link Factory} set with {@link SuperToast#setScheduler(Factory)}, the built-in
+ * schedulers are selected with {@link SuperToast#setScheduler(int)}.
+ *
+ * The {@link Toaster} keeps the bookkeeping that does not depend on the order, such as
+ * the queue capacity, time to live, rate limits and groups. All callbacks are called on
+ * the main thread, a scheduler never has to be thread safe.
+ */
+public interface ToastScheduler {
+
+    /**
+     * Creates a scheduler for every display target.
+     */
+    interface Factory {
+
+        /**
+         * Returns a new, empty scheduler.
+         *
+         * @return The ToastScheduler of a display target
+         */
+        ToastScheduler create();
+    }
+
+    /**
+     * A SuperToast became pending. This happens when it is shown, when a more important
+     * SuperToast suspended it and when the scheduler takes over the pending SuperToasts
+     * of its display target.
+     *
+     * @param superToast The new pending SuperToast
+     * @param now The current {@link ToastClock#uptimeMillis()}
+     * @return A pending SuperToast that the new one replaces, the new SuperToast itself if
+     * it is replaced by a pending one, or null. The Toaster drops the returned SuperToast
+     * without showing it and the scheduler must forget it.
+     */
+    SuperToast onEnqueue(SuperToast superToast, long now);
+
+    /**
+     * A pending SuperToast left without being shown. It was dismissed, expired, evicted
+     * or cancelled, or it is being handed over to another scheduler.
+     *
+     * @param superToast The SuperToast that is no longer pending
+     */
+    void onDismiss(SuperToast superToast);
+
+    /**
+     * The priority level of a pending SuperToast changed, either because it was
+     * reprioritized or because it aged. The SuperToast stays pending and only has to be
+     * moved to its new place.
+     *
+     * @param superToast The pending SuperToast
+     * @param now The current {@link ToastClock#uptimeMillis()}
+     */
+    void onReprioritize(SuperToast superToast, long now);
+
+    /**
+     * Returns the pending SuperToast that should be shown next without removing it. The
+     * Toaster calls {@link #onShow(SuperToast, long)} once it actually shows it. Returning
+     * null holds every pending SuperToast back until the next batch.
+     *
+     * @param now The current {@link ToastClock#uptimeMillis()}
+     * @return The next SuperToast or null
+     */
+    SuperToast nextToShow(long now);
+
+    /**
+     * The SuperToast returned by {@link #nextToShow(long)} is being shown and is no
+     * longer pending.
+     *
+     * @param superToast The SuperToast that is shown
+     * @param now The current {@link ToastClock#uptimeMillis()}
+     */
+    void onShow(SuperToast superToast, long now);
+
+    /**
+     * Called once per batch before the Toaster asks for the next SuperToasts, so that
+     * time dependent state can be updated in one pass instead of per comparison.
+     *
+     * @param now The current {@link ToastClock#uptimeMillis()}
+     */
+    void onTick(long now);
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of the SuperToast queue at one point in time. A snapshot never changes
+ * after it was published, so it may be kept and iterated on any thread while the queue
+ * moves on. Get the current snapshot via {@link SuperToast#getQueueSnapshot()}.
+ */
+@SuppressWarnings("UnusedDeclaration")
+public final class ToastSnapshot {
+
+    static final ToastSnapshot EMPTY = new ToastSnapshot(0, new ArrayList<SuperToast>(),
+            new ArrayList<SuperToast>(), new ArrayList<SuperToast>());
+
+    private final long mVersion;
+    private final List<SuperToast> mShowing;
+    private final List<SuperToast> mPending;
+    private final List<SuperToast> mDeferred;
+    private final List<SuperToast> mAll;
+
+    /**
+     * The lists are owned by the snapshot afterwards and must not be changed.
+     */
+    ToastSnapshot(long version, ArrayList<SuperToast> showing, ArrayList<SuperToast> pending,
+                  ArrayList<SuperToast> deferred) {
+        this.mVersion = version;
+        this.mShowing = Collections.unmodifiableList(showing);
+        this.mPending = Collections.unmodifiableList(pending);
+        this.mDeferred = Collections.unmodifiableList(deferred);
+
+        final ArrayList<SuperToast> all = new ArrayList<>(
+                showing.size() + pending.size() + deferred.size());
+        all.addAll(showing);
+        all.addAll(pending);
+        all.addAll(deferred);
+        this.mAll = Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Returns the version of the snapshot. Every newly published snapshot has a higher
+     * version so two snapshots can be told apart without comparing their contents.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Returns the SuperToasts that were showing, across all display targets.
+     *
+     * @return An unmodifiable List of showing SuperToasts
+     */
+    public List<SuperToast> getShowing() {
+        return mShowing;
+    }
+
+    /**
+     * Returns the SuperToasts that were waiting for a free slot. Every display target
+     * contributes its SuperToasts in the order they arrived.
+     *
+     * @return An unmodifiable List of pending SuperToasts
+     */
+    public List<SuperToast> getPending() {
+        return mPending;
+    }
+
+    /**
+     * Returns the SuperToasts that were held back by the rate limiter.
+     *
+     * @return An unmodifiable List of deferred SuperToasts
+     */
+    public List<SuperToast> getDeferred() {
+        return mDeferred;
+    }
+
+    /**
+     * Returns every showing, pending and deferred SuperToast in that order.
+     *
+     * @return An unmodifiable List of all SuperToasts
+     */
+    public List<SuperToast> getAll() {
+        return mAll;
+    }
+
+    /**
+     * Returns the number of showing, pending and deferred SuperToasts.
+     *
+     * @return The size of the snapshot
+     */
+    public int size() {
+        return mAll.size();
+    }
+}
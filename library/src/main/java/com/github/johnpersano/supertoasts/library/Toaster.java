@@ -1,311 +1,1946 @@
-/*
- * Copyright 2013-2016 John Persano
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package com.github.johnpersano.supertoasts.library;
-
-import android.animation.Animator;
-import android.content.Context;
-import android.os.Handler;
-import android.os.Message;
-import android.util.Log;
-import android.view.WindowManager;
-
-import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
-
-import java.util.Comparator;
-import java.util.PriorityQueue;
-
-/**
- * The Toaster class handles the show and hide function of a
- * {@link com.github.johnpersano.supertoasts.library.SuperToast} and
- * {@link com.github.johnpersano.supertoasts.library.SuperActivityToast}.
- * This class cannot (and should not) be used directly.
- */
-class Toaster extends Handler {
-
-    private static final String ERROR_SAT_VIEWGROUP_NULL = "The SuperActivityToast's ViewGroup " +
-            "was null, could not show.";
-    private static final String ERROR_ST_WINDOWMANAGER_NULL = "The SuperToast's WindowManager " +
-            "was null when trying to remove the SuperToast.";
-
-    // Potential messages for the handler to send
-    private static final class Messages {
-        // Hexadecimal numbers that represent acronyms for the operation
-        private static final int DISPLAY_SUPERTOAST = 0x445354;
-        private static final int SHOW_NEXT = 0x415354;
-        private static final int REMOVE_SUPERTOAST = 0x525354;
-    }
-
-    /**
-     * Comparator used for ordering {@link SuperToast}s in their queue.
-     */
-    private class SuperToastComparator implements Comparator<SuperToast> {
-
-        @Override
-        public int compare(SuperToast x, SuperToast y) {
-            // Do not shuffle around any showing SuperToasts
-            if (x.isShowing()) return -1;
-
-            if (x.getStyle().priorityLevel < y.getStyle().priorityLevel) return -1;
-            else if (x.getStyle().priorityLevel > y.getStyle().priorityLevel) return 1;
-
-            // PriorityQueue uses a heap, we want to maintain insertion order
-            else return x.getStyle().timestamp <= y.getStyle().timestamp ? -1 : 1;
-        }
-    }
-
-    /**
-     * Gets the current instance of the Toaster. If there is no extant instance,
-     * a new one will be created.
-     *
-     * @return The current Toaster instance
-     */
-    static synchronized Toaster getInstance() {
-        if (mToaster != null) return mToaster;
-        else {
-            mToaster = new Toaster();
-            return mToaster;
-        }
-    }
-
-    private static Toaster mToaster;
-    private final PriorityQueue<SuperToast> superToastPriorityQueue;
-
-    // Create a new PriorityQueue when the Toaster class is first initialized
-    private Toaster() {
-        superToastPriorityQueue = new PriorityQueue<>(10, new SuperToastComparator());
-    }
-
-    /**
-     * Adds a SuperToast or SuperActivityToast to the current queue.
-     *
-     * @param superToast The SuperToast or SuperActivityToast to be shown
-     */
-    void add(SuperToast superToast) {
-        // Add SuperToast to queue and try to show it
-        superToastPriorityQueue.add(superToast);
-        this.showNextSuperToast();
-    }
-
-    /**
-     * Show the next SuperToast in the current queue. If a SuperToast is currently showing,
-     * do nothing. The currently showing SuperToast will call this method when it dismisses.
-     */
-    private void showNextSuperToast() {
-        // Do nothing if the queue is empty
-        if (superToastPriorityQueue.isEmpty()) return;
-
-        // Get next SuperToast in the queue
-        final SuperToast superToast = superToastPriorityQueue.peek();
-        if (!superToast.isShowing()) {
-            final Message message = obtainMessage(Messages.DISPLAY_SUPERTOAST);
-            message.obj = superToast;
-            sendMessage(message);
-        }
-    }
-
-    /**
-     * Send a message at a later time. This is used to dismiss a SuperToast.
-     */
-    private void sendDelayedMessage(SuperToast superToast, int messageId, long delay) {
-        Message message = obtainMessage(messageId);
-        message.obj = superToast;
-        sendMessageDelayed(message, delay);
-    }
-
-    @Override
-    public void handleMessage(Message message) {
-        final SuperToast superToast = (SuperToast) message.obj;
-        switch (message.what) {
-            case Messages.SHOW_NEXT:
-                showNextSuperToast();
-                break;
-            case Messages.DISPLAY_SUPERTOAST:
-                displaySuperToast(superToast);
-                break;
-            case Messages.REMOVE_SUPERTOAST:
-                removeSuperToast(superToast);
-                break;
-            default:
-                super.handleMessage(message);
-                break;
-        }
-    }
-
-    /**
-     * Try to show the SuperToast. SuperToasts will be shown using the WindowManager while
-     * SuperActivityToasts will be shown using their supplied ViewGroup.
-     * @param superToast the SuperToast (or SuperActivityToast) to be shown
-     */
-    private void displaySuperToast(SuperToast superToast) {
-
-        // Make sure the SuperToast isn't already showing for some reason
-        if (superToast.isShowing()) return;
-
-        // If the SuperToast is a SuperActivityToast, show it via the supplied ViewGroup
-        if (superToast instanceof SuperActivityToast) {
-            if (((SuperActivityToast) superToast).getViewGroup() == null) {
-                Log.e(getClass().getName(), ERROR_SAT_VIEWGROUP_NULL);
-                return;
-            }
-
-            try {
-                ((SuperActivityToast) superToast).getViewGroup().addView(superToast.getView());
-
-                // Do not use the show animation on the first SuperToast if from orientation change
-                if (!((SuperActivityToast) superToast).isFromOrientationChange()) {
-                    AnimationUtils.getShowAnimation((SuperActivityToast) superToast).start();
-                }
-            } catch (IllegalStateException illegalStateException) {
-                Log.e(getClass().getName(), illegalStateException.toString());
-            }
-
-            if (!((SuperActivityToast) superToast).isIndeterminate()) {
-                // This will remove the SuperToast after the total duration
-                sendDelayedMessage(superToast, Messages.REMOVE_SUPERTOAST,
-                        superToast.getDuration() + AnimationUtils.SHOW_DURATION);
-            }
-
-        // The SuperToast is NOT a SuperActivityToast, show it via the WindowManager
-        } else {
-            final WindowManager windowManager = (WindowManager) superToast.getContext()
-                    .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
-            if (windowManager != null) {
-                windowManager.addView(superToast.getView(), superToast.getWindowManagerParams());
-            }
-
-            // This will remove the SuperToast after a certain duration
-            sendDelayedMessage(superToast, Messages.REMOVE_SUPERTOAST,
-                    superToast.getDuration() + AnimationUtils.SHOW_DURATION);
-        }
-    }
-
-    /**
-     * Removes a showing SuperToast. This method will poll the Queue as well as try
-     * to show the next SuperToast if one exists in the Queue.
-     * @param superToast the SuperToast (or SuperActivityToast) to be removed
-     */
-    void removeSuperToast(final SuperToast superToast) {
-        // If the SuperToast is a SuperActivityToast, remove it from the supplied ViewGroup
-        if (superToast instanceof SuperActivityToast) {
-            // If SuperActivityToast has already been dismissed, do not attempt to dismiss it again
-            if (!superToast.isShowing()) {
-                this.superToastPriorityQueue.remove(superToast);
-                return;
-            }
-
-            final Animator animator = AnimationUtils.getHideAnimation(
-                    (SuperActivityToast) superToast);
-            animator.addListener(new Animator.AnimatorListener() {
-
-                @Override
-                public void onAnimationStart(Animator animation) {
-                    // Do nothing
-                }
-
-                @Override
-                public void onAnimationEnd(Animator animation) {
-                    if (superToast.getOnDismissListener() != null) {
-                        superToast.getOnDismissListener().onDismiss(superToast.getView(),
-                                superToast.getStyle().dismissToken);
-                    }
-
-                    ((SuperActivityToast) superToast).getViewGroup().removeView(superToast.getView());
-
-                    // Show the next SuperToast if any exist
-                    Toaster.this.showNextSuperToast();
-                }
-
-                @Override
-                public void onAnimationCancel(Animator animation) {
-                    // Do nothing
-                }
-
-                @Override
-                public void onAnimationRepeat(Animator animation) {
-                    // Do nothing
-                }
-            });
-            animator.start();
-
-        // If the SuperToast is NOT a SuperActivityToast, remove it from the WindowManager
-        } else {
-            final WindowManager windowManager = (WindowManager) superToast.getContext()
-                    .getSystemService(Context.WINDOW_SERVICE);
-
-            // If the WindowManager is null, the SuperToast will linger indefinitely
-            if (windowManager == null) throw new IllegalStateException(ERROR_ST_WINDOWMANAGER_NULL);
-
-            try {
-                windowManager.removeView(superToast.getView());
-            } catch (IllegalArgumentException illegalArgumentException) {
-                Log.e(getClass().getName(), illegalArgumentException.toString());
-            }
-
-            if (superToast.getOnDismissListener() != null) {
-                superToast.getOnDismissListener().onDismiss(superToast.getView(),
-                        superToast.getStyle().dismissToken);
-            }
-
-            // Show the next SuperToast in the queue if any exist after the hide duration
-            this.sendDelayedMessage(superToast, Messages.SHOW_NEXT, AnimationUtils.HIDE_DURATION);
-        }
-
-        superToastPriorityQueue.poll();
-    }
-
-    /**
-     * Cancels and removes all pending and/or showing SuperToasts and SuperActivityToasts.
-     */
-    void cancelAllSuperToasts() {
-        removeMessages(Messages.SHOW_NEXT);
-        removeMessages(Messages.DISPLAY_SUPERTOAST);
-        removeMessages(Messages.REMOVE_SUPERTOAST);
-
-        // Iterate through the Queue, polling and removing everything
-        for (SuperToast superToast : superToastPriorityQueue) {
-            if (superToast instanceof SuperActivityToast) {
-                if (superToast.isShowing()) {
-                    try{
-                        ((SuperActivityToast) superToast).getViewGroup().removeView(superToast.getView());
-                        ((SuperActivityToast) superToast).getViewGroup().invalidate();
-                    } catch (NullPointerException|IllegalStateException exception) {
-                        Log.e(getClass().getName(), exception.toString());
-                    }
-                }
-            } else {
-                final WindowManager windowManager = (WindowManager) superToast.getContext()
-                        .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
-                if (superToast.isShowing()) {
-                    try{
-                        windowManager.removeView(superToast.getView());
-                    } catch (NullPointerException|IllegalArgumentException exception) {
-                        Log.e(getClass().getName(), exception.toString());
-                    }
-                }
-            }
-        }
-        superToastPriorityQueue.clear();
-    }
-
-    /**
-     * Returns the {@link PriorityQueue} associated with this Toaster.
-     * @return the current PriorityQueue
-     */
-    public PriorityQueue<SuperToast> getQueue() {
-        return this.superToastPriorityQueue;
-    }
-
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.view.Choreographer;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Toaster class handles the show and hide function of a
+ * {@link com.github.johnpersano.supertoasts.library.SuperToast} and
+ * {@link com.github.johnpersano.supertoasts.library.SuperActivityToast}.
+ * This class cannot (and should not) be used directly.
+ */
+class Toaster {
+
+    private static final String ERROR_MAX_CONCURRENT = "The maximum number of concurrent " +
+            "SuperActivityToasts must be at least one.";
+    private static final String ERROR_QUEUE_CAPACITY = "The queue capacity must be at least one.";
+    private static final String ERROR_SOURCE_WEIGHT = "The weight of a source must be at least one.";
+    private static final String ERROR_AGING_INTERVAL = "The aging interval must not be negative.";
+    private static final String ERROR_RATE_LIMIT = "The rate limit must not be negative and " +
+            "the burst must be at least one.";
+
+    // Potential messages for the executor to run
+    private static final class Messages {
+        // Hexadecimal numbers that represent acronyms for the operation
+        private static final int TIMER_DUE = 0x544D44;
+        private static final int RETRY_DEFERRED = 0x524454;
+        private static final int APPLY_BATCH = 0x414254;
+        private static final int SWEEP_EXPIRED = 0x455850;
+        private static final int TICK_WHEEL = 0x54574C;
+        private static final int PUBLISH_SNAPSHOT = 0x505348;
+        private static final int AGE_PRIORITIES = 0x414750;
+    }
+
+    /**
+     * Runs one of the {@link Messages} on the executor thread.
+     */
+    private final class Task implements Runnable {
+
+        private final int what;
+
+        private Task(int what) {
+            this.what = what;
+        }
+
+        @Override
+        public void run() {
+            handleMessage(what);
+        }
+    }
+
+    /**
+     * A show, dismiss or cancel call waiting for the next batch.
+     */
+    private static final class Operation {
+
+        private static final int ADD = 1;
+        private static final int DISMISS = 2;
+        private static final int CANCEL_ALL = 3;
+        private static final int SCHEDULE = 4;
+        private static final int CANCEL_GROUP = 5;
+        private static final int REPRIORITIZE = 6;
+        private static final int REPRIORITIZE_GROUP = 7;
+        private static final int SET_RATE_LIMIT = 8;
+        private static final int SET_PRIORITY_LEVEL_RATE_LIMIT = 9;
+
+        private final int type;
+        private final SuperToast superToast;
+        private final long uptime;
+        private final String group;
+        private final int priorityLevel;
+        private final TokenBucket tokenBucket;
+
+        private Operation(int type, SuperToast superToast) {
+            this(type, superToast, null, 0, 0);
+        }
+
+        private Operation(int type, SuperToast superToast, long uptime) {
+            this(type, superToast, null, uptime, 0);
+        }
+
+        private Operation(int type, String group) {
+            this(type, null, group, 0, 0);
+        }
+
+        private Operation(int type, int priorityLevel, TokenBucket tokenBucket) {
+            this(type, null, null, 0, priorityLevel, tokenBucket);
+        }
+
+        private Operation(int type, SuperToast superToast, String group, long uptime,
+                          int priorityLevel) {
+            this(type, superToast, group, uptime, priorityLevel, null);
+        }
+
+        private Operation(int type, SuperToast superToast, String group, long uptime,
+                          int priorityLevel, TokenBucket tokenBucket) {
+            this.type = type;
+            this.superToast = superToast;
+            this.group = group;
+            this.uptime = uptime;
+            this.priorityLevel = priorityLevel;
+            this.tokenBucket = tokenBucket;
+        }
+    }
+
+    /**
+     * Gets the current instance of the Toaster. If there is no extant instance,
+     * a new one will be created.
+     *
+     * @return The current Toaster instance
+     */
+    static Toaster getInstance() {
+        return InstanceHolder.TOASTER;
+    }
+
+    // Created on first use by the class loader, so looking up the instance never locks
+    private static final class InstanceHolder {
+        private static final MainThreadExecutor MAIN_THREAD = new MainThreadExecutor();
+        private static final Toaster TOASTER = new Toaster(MAIN_THREAD, MAIN_THREAD,
+                new ViewToastDisplay());
+    }
+
+    // Every queue is only ever touched on the executor thread, the main thread by default
+    private final ToastClock mClock;
+    private final ToastExecutor mExecutor;
+    private final ToastDisplay mDisplay;
+    private final Task mTimerDue = new Task(Messages.TIMER_DUE);
+    private final Task mRetryDeferred = new Task(Messages.RETRY_DEFERRED);
+    private final Task mApplyBatch = new Task(Messages.APPLY_BATCH);
+    private final Task mSweepExpired = new Task(Messages.SWEEP_EXPIRED);
+    private final Task mTickWheel = new Task(Messages.TICK_WHEEL);
+    private final Task mPublishSnapshot = new Task(Messages.PUBLISH_SNAPSHOT);
+    private final Task mAgePriorities = new Task(Messages.AGE_PRIORITIES);
+
+    // One independent queue per display target, see ToastDisplay.getTarget(SuperToast)
+    private final HashMap<Object, ToastQueue> mToastQueues = new HashMap<>();
+    private final Comparator<ToastRecord> mComparator = HeapScheduler.PRIORITY_COMPARATOR;
+
+    // Creates the ToastScheduler of every new display target
+    private final HashMap<String, Integer> mSourceWeights = new HashMap<>();
+    private ToastScheduler.Factory mSchedulerFactory = createSchedulerFactory(
+            Style.SCHEDULER_STRICT_PRIORITY, mSourceWeights);
+    private int mSchedulerPolicy = Style.SCHEDULER_STRICT_PRIORITY;
+
+    // Number of SuperToasts that may show at once per display target, defaults to one
+    private final WeakHashMap<Object, Integer> mMaxConcurrent = new WeakHashMap<>();
+
+    // Head of the intrusive list of every group with scheduled, deferred, pending or showing
+    // SuperToasts, see ToastRecord.groupNext
+    private final HashMap<String, ToastRecord> mGroups = new HashMap<>();
+
+    // Monotonic enqueue counter used to break priority ties
+    private long mNextSequence;
+
+    // Maximum number of pending SuperToasts per target and what to do once it is reached
+    private int mQueueCapacity = Style.QUEUE_CAPACITY_UNBOUNDED;
+    private int mOverflowPolicy = Style.OVERFLOW_REJECT_NEW;
+
+    private final ToastMetrics mMetrics = new ToastMetrics();
+
+    // Token buckets limiting the accepted SuperToasts per second, null or absent if unlimited.
+    // Priority levels box to cached Integers, so looking up a bucket never allocates.
+    private TokenBucket mRateLimit;
+    private final HashMap<Integer, TokenBucket> mPriorityLevelRateLimits = new HashMap<>();
+
+    // Pending SuperToasts with a deadline sorted by the deadline admission, empty in between
+    private final ArrayList<ToastRecord> mAdmissionOrder = new ArrayList<>();
+
+    // Refilled for every lookup of a duplicate, so looking one up never allocates
+    private final ToastQueue.CoalesceKey mCoalesceProbe = new ToastQueue.CoalesceKey();
+    private int mRateLimitPolicy = Style.RATE_LIMIT_DROP;
+
+    // SuperToasts held back by the rate limiter in arrival order and the uptime of the
+    // next retry
+    private final ArrayDeque<ToastRecord> mDeferred = new ArrayDeque<>();
+    private long mRetryWakeUp = Long.MAX_VALUE;
+
+    // Operations from any thread, handed off to the main thread without locking
+    private final ConcurrentLinkedQueue<Operation> mOperations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean mIsBatchScheduled = new AtomicBoolean();
+
+    // True while a batch runs, queues marked dirty meanwhile are handled by that batch
+    private boolean mIsApplyingBatch;
+
+    // Queues whose free slots are filled and whose SuperActivityToasts are restacked by the batch
+    private final ArrayList<ToastQueue> mDirtyQueues = new ArrayList<>();
+
+    // Showing SuperToasts ordered by the uptime their removal or release is due, served by
+    // a single TIMER_DUE message armed for the earliest one
+    private final ToastHeap mTimers = new ToastHeap(new Comparator<ToastRecord>() {
+
+        @Override
+        public int compare(ToastRecord x, ToastRecord y) {
+            if (x.dismissAt != y.dismissAt) return x.dismissAt < y.dismissAt ? -1 : 1;
+            return x.sequence < y.sequence ? -1 : (x.sequence == y.sequence ? 0 : 1);
+        }
+    }, ToastHeap.TIMER_INDEX);
+    private long mTimerWakeUp = Long.MAX_VALUE;
+
+    // SuperToasts scheduled for later and the uptime the wheel is woken at next
+    private final TimerWheel mScheduled = new TimerWheel();
+    private long mWheelWakeUp = Long.MAX_VALUE;
+
+    // Uptime of the next scheduled sweep for expired SuperToasts
+    private long mNextSweepAt = Long.MAX_VALUE;
+
+    // Hears from the display on the executor thread
+    private final ToastDisplay.Callback mDisplayCallback = new ToastDisplay.Callback() {
+
+        @Override
+        public void onHostVisibilityChanged(Object host, boolean isVisible) {
+            setHostVisible(host, isVisible);
+        }
+
+        @Override
+        public void onHostDestroyed(Object host) {
+            cancelHost(host);
+        }
+
+        @Override
+        public void onReleased(SuperToast superToast) {
+            releaseSuperToast(superToast);
+        }
+
+        @Override
+        public void onTargetLayoutChanged(Object target) {
+            final ToastQueue toastQueue = mToastQueues.get(target);
+            if (toastQueue != null) mDisplay.restack(toastQueue.showing);
+        }
+
+        @Override
+        public void onFrame() {
+            applyFrame();
+        }
+    };
+
+    // Queue state published for readers on any thread, see publishState()
+    private volatile int mSize;
+    private volatile ToastSnapshot mSnapshot = ToastSnapshot.EMPTY;
+    private volatile boolean mIsSnapshotStale;
+    private final AtomicBoolean mIsSnapshotRequested = new AtomicBoolean();
+    private long mSnapshotVersion;
+
+    // Milliseconds of waiting per gained priority level, see agePendingSuperToasts()
+    private int mAgingInterval = Style.AGING_DISABLED;
+    private boolean mIsAgingScheduled;
+    private final ArrayList<ToastRecord> mAged = new ArrayList<>();
+
+    // True if a more important arrival may suspend a showing SuperToast
+    private boolean mIsPreemptive;
+
+    // Attach and detach work deferred to the next frame when frame aligned scheduling is on
+    private boolean mIsFrameAligned;
+    private boolean mIsFrameScheduled;
+    private final ArrayList<SuperToast> mFrameAttaches = new ArrayList<>();
+    private final ArrayList<SuperToast> mFrameDetaches = new ArrayList<>();
+
+    /**
+     * Creates a Toaster driven by the given clock, executor and display. The instance
+     * returned by {@link #getInstance()} uses the main thread and the Views of the
+     * SuperToasts, a {@link VirtualClock} with a headless display replays toast traffic
+     * in virtual time on a plain JVM.
+     *
+     * @param clock The clock every uptime is read from
+     * @param executor Runs the messages of the Toaster at the uptimes of the clock
+     * @param display Shows the SuperToasts, only ever called on the executor thread
+     */
+    Toaster(ToastClock clock, ToastExecutor executor, ToastDisplay display) {
+        this.mClock = clock;
+        this.mExecutor = executor;
+        this.mDisplay = display;
+        this.mDisplay.setCallback(mDisplayCallback);
+    }
+
+    /**
+     * Shows a SuperToast from any thread. The SuperToast is handed off through a lock-free
+     * queue and added by the next batch on the main thread, so the caller never blocks on it.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to be shown
+     */
+    void show(SuperToast superToast) {
+        post(new Operation(Operation.ADD, superToast));
+    }
+
+    /**
+     * Shows a SuperToast from any thread once the given uptime is reached. Until then the
+     * SuperToast waits in a timing wheel and is not part of the queue.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to be shown
+     * @param uptime The {@link ToastClock#uptimeMillis()} to show the SuperToast at
+     */
+    void showAt(SuperToast superToast, long uptime) {
+        post(new Operation(Operation.SCHEDULE, superToast, uptime));
+    }
+
+    /**
+     * Shows a SuperToast from any thread once a delay on the {@link ToastClock} of the
+     * Toaster has passed.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to be shown
+     * @param delay The delay in milliseconds
+     */
+    void showAfter(SuperToast superToast, long delay) {
+        showAt(superToast, mClock.uptimeMillis() + Math.max(0, delay));
+    }
+
+    /**
+     * Dismisses a SuperToast from any thread with the next batch.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to be dismissed
+     */
+    void dismiss(SuperToast superToast) {
+        post(new Operation(Operation.DISMISS, superToast));
+    }
+
+    private void post(Operation operation) {
+        mOperations.offer(operation);
+        scheduleBatch();
+    }
+
+    /**
+     * Makes sure a batch runs on the next looper turn. Only the first caller of a batch
+     * sends a message.
+     */
+    private void scheduleBatch() {
+        if (mIsBatchScheduled.compareAndSet(false, true)) mExecutor.execute(mApplyBatch);
+    }
+
+    /**
+     * Schedules a queue for the next batch to fill its free slots and restack it.
+     */
+    private void markDirty(ToastQueue toastQueue) {
+        if (toastQueue.isDirty) return;
+        toastQueue.isDirty = true;
+        mDirtyQueues.add(toastQueue);
+        if (!mIsApplyingBatch) scheduleBatch();
+    }
+
+    /**
+     * Applies every collected operation in order, then restores the heap order of each
+     * touched queue once, fills its free slots and restacks it once.
+     */
+    private void applyBatch() {
+        final long start = System.nanoTime();
+
+        // An operation racing with the loop below schedules a new batch
+        mIsBatchScheduled.set(false);
+        mIsApplyingBatch = true;
+
+        int operations = 0;
+        Operation operation;
+        while ((operation = mOperations.poll()) != null) {
+            operations++;
+            switch (operation.type) {
+                case Operation.ADD: add(operation.superToast, mClock.uptimeMillis()); break;
+                case Operation.DISMISS: removeSuperToast(operation.superToast); break;
+                case Operation.CANCEL_ALL: cancelAllSuperToasts(); break;
+                case Operation.SCHEDULE: schedule(operation.superToast, operation.uptime); break;
+                case Operation.CANCEL_GROUP: cancelGroupSuperToasts(operation.group); break;
+                case Operation.REPRIORITIZE:
+                    setPriorityLevel(operation.superToast, operation.priorityLevel);
+                    break;
+                case Operation.REPRIORITIZE_GROUP:
+                    setGroupPriorityLevel(operation.group, operation.priorityLevel);
+                    break;
+                case Operation.SET_RATE_LIMIT: replaceRateLimit(operation.tokenBucket); break;
+                case Operation.SET_PRIORITY_LEVEL_RATE_LIMIT:
+                    replaceRateLimit(operation.priorityLevel, operation.tokenBucket);
+                    break;
+            }
+        }
+
+        // Queues marked while displaying are appended and handled by this loop as well
+        for (int i = 0; i < mDirtyQueues.size(); i++) {
+            final ToastQueue toastQueue = mDirtyQueues.get(i);
+            toastQueue.isDirty = false;
+            showNextSuperToast(toastQueue);
+        }
+        mDirtyQueues.clear();
+        mIsApplyingBatch = false;
+        publishState();
+
+        mMetrics.onBatch(operations, System.nanoTime() - start);
+    }
+
+    /**
+     * Applies the collected operations right away if called on the main thread so that
+     * reads reflect every earlier call. A listener called by a running batch reads the
+     * state as it is and leaves the operations it posts to the next batch.
+     */
+    private void flushBatch() {
+        if (mIsApplyingBatch) return;
+        if (!mIsBatchScheduled.get() || !mExecutor.isExecutorThread()) return;
+
+        // Drop the posted batch before applyBatch resets the flag. Cancelling after the
+        // reset would remove the batch of a racing operation and leave the flag set for good.
+        mExecutor.cancel(mApplyBatch);
+        applyBatch();
+    }
+
+    /**
+     * Adds a SuperToast or SuperActivityToast to the queue of its display target.
+     * Must be called on the main thread.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to be shown
+     * @param enqueuedAt The uptime the SuperToast was first shown, the start of its time to live
+     */
+    private void add(SuperToast superToast, long enqueuedAt) {
+        final ToastRecord record = superToast.getRecord();
+
+        // A SuperToast can only be pending, showing, deferred or scheduled once
+        if (record.toastQueue != null || record.isDeferred
+                || record.timerSlot != TimerWheel.NOT_SCHEDULED) return;
+
+        final int timeToLive = superToast.getStyle().timeToLive;
+        final int deadline = superToast.getStyle().deadline;
+        record.enqueuedAt = enqueuedAt;
+        record.expiresAt = timeToLive > 0 ? enqueuedAt + timeToLive : 0;
+        record.deadlineAt = deadline > 0 ? enqueuedAt + deadline : 0;
+
+        final Object target = mDisplay.getTarget(superToast);
+        ToastQueue toastQueue = mToastQueues.get(target);
+        if (toastQueue == null) {
+            toastQueue = new ToastQueue(target, mSchedulerFactory.create());
+            mToastQueues.put(target, toastQueue);
+
+            // The queue of a hidden host starts paused
+            toastQueue.host = mDisplay.getHost(superToast);
+            toastQueue.isPaused = toastQueue.host != null && !mDisplay.isHostVisible(toastQueue.host);
+        }
+
+        // Fold a duplicate into the SuperToast that is already pending or showing
+        final boolean isCoalescable = superToast.getStyle().coalesceDuplicates
+                || mOverflowPolicy == Style.OVERFLOW_COALESCE
+                || (mRateLimitPolicy == Style.RATE_LIMIT_COALESCE && isRateLimited());
+        ToastRecord original = null;
+        if (isCoalescable) {
+            original = toastQueue.coalescable.get(mCoalesceProbe.set(superToast));
+            if (original != null && superToast.getStyle().coalesceDuplicates) {
+                coalesce(original, superToast);
+                unindexGroup(record);
+                return;
+            }
+        }
+
+        // Throttle callers that show SuperToasts faster than the rate limit allows, the token
+        // is only taken once the SuperToast is certain to be queued
+        if (!hasToken(superToast, mClock.uptimeMillis())) {
+            rateLimit(superToast, original);
+            if (!record.isDeferred) unindexGroup(record);
+            if (toastQueue.isEmpty()) mToastQueues.remove(target);
+            return;
+        }
+
+        // Reject or downgrade a SuperToast that cannot be displayed by its deadline
+        if (record.deadlineAt > 0 && mSchedulerPolicy == Style.SCHEDULER_EARLIEST_DEADLINE
+                && !admit(toastQueue, record, mClock.uptimeMillis())) {
+            unindexGroup(record);
+            if (toastQueue.isEmpty()) mToastQueues.remove(target);
+            return;
+        }
+
+        // Make room in a full queue or drop the new SuperToast
+        if (toastQueue.pending.size() >= mQueueCapacity) {
+            if (!overflow(toastQueue, superToast, original)) {
+                unindexGroup(record);
+                if (toastQueue.isEmpty()) mToastQueues.remove(target);
+                return;
+            }
+        }
+
+        // Nothing can turn the SuperToast away anymore
+        acquireToken(superToast);
+
+        if (isCoalescable) {
+            if (record.coalesceKey == null) record.coalesceKey = new ToastQueue.CoalesceKey();
+            record.coalesceKey.set(superToast);
+            record.isCoalescable = true;
+
+            // A put would keep the key of the replaced SuperToast, which refills it when shown again
+            toastQueue.coalescable.remove(record.coalesceKey);
+            toastQueue.coalescable.put(record.coalesceKey, record);
+        }
+
+        record.sequence = mNextSequence++;
+        record.agedLevels = 0;
+        record.isDismissing = false;
+        record.isPrepared = false;
+        record.dismissAt = 0;
+        record.remainingDuration = 0;
+        record.toastQueue = toastQueue;
+
+        // Add SuperToast to queue and try to show it with the batch
+        indexGroup(record);
+        enqueue(toastQueue, record);
+        scheduleSweep(record.expiresAt);
+        scheduleAging();
+        markDirty(toastQueue);
+    }
+
+    /**
+     * Adds a record to the pending SuperToasts of its queue and drops whatever the
+     * scheduler replaced with it.
+     */
+    private void enqueue(ToastQueue toastQueue, ToastRecord record) {
+        dropReplaced(toastQueue.offer(record, mClock.uptimeMillis()));
+    }
+
+    /**
+     * Estimates when a SuperToast with a deadline would be displayed by the
+     * {@link EarliestDeadlineScheduler} and applies its deadline policy if that is too late.
+     * The estimate spreads the running deadline work of the queue over the slots of the
+     * target from the first slot that is free. Pending SuperToasts with a later deadline are
+     * counted as well, so the estimate errs on the late side. The SuperToast is also turned
+     * away if it would push an admitted SuperToast with a later deadline past that deadline,
+     * see {@link #isInTimeBehind(ToastQueue, ToastRecord, long, int)}. A paused queue has no
+     * estimate and admits everything.
+     *
+     * @return true if the SuperToast should be queued
+     */
+    private boolean admit(ToastQueue toastQueue, ToastRecord record, long now) {
+        if (toastQueue.isPaused) return true;
+
+        // A free slot is available right away, otherwise once the first showing SuperToast
+        // has been hidden
+        final int slots = getMaxConcurrent(toastQueue);
+        long freeAt = toastQueue.showing.size() < slots ? now : Long.MAX_VALUE;
+        for (int i = 0; i < toastQueue.showing.size() && freeAt > now; i++) {
+            freeAt = Math.min(freeAt, Math.max(now, getReleaseTime(toastQueue.showing.get(i), now)));
+        }
+        if (freeAt + toastQueue.deadlineWork / slots <= record.deadlineAt
+                && isInTimeBehind(toastQueue, record, freeAt, slots)) {
+            return true;
+        }
+
+        final int deadlinePolicy = record.superToast.getStyle().deadlinePolicy;
+        if (deadlinePolicy == Style.DEADLINE_DOWNGRADE) {
+            record.deadlineAt = 0;
+            mMetrics.onDeadlineMissed(Style.DEADLINE_DOWNGRADE);
+            return true;
+        }
+        mMetrics.onDeadlineMissed(Style.DEADLINE_REJECT);
+        return false;
+    }
+
+    /**
+     * Walks the pending SuperToasts with a deadline in the order of the scheduler and returns
+     * false if one that was admitted with a later deadline than the new SuperToast would be
+     * displayed on time without it, but too late once the new SuperToast goes ahead of it.
+     * SuperToasts with the same deadline as the new one stay ahead of it.
+     */
+    private boolean isInTimeBehind(ToastQueue toastQueue, ToastRecord record, long freeAt, int slots) {
+        final ArrayList<ToastRecord> ordered = mAdmissionOrder;
+        for (ToastRecord pending : toastQueue.pending) {
+            if (pending.deadlineWork > 0) ordered.add(pending);
+        }
+        Collections.sort(ordered, HeapScheduler.KEY_COMPARATOR);
+
+        final long deadline = EarliestDeadlineScheduler.getDeadline(record);
+        final long work = record.getSlotTime();
+        long workAhead = 0;
+        boolean isInTime = true;
+        for (int i = 0; i < ordered.size() && isInTime; i++) {
+            final ToastRecord behind = ordered.get(i);
+            if (behind.deadlineAt > 0 && behind.schedulerKey > deadline
+                    && freeAt + workAhead / slots <= behind.deadlineAt) {
+                isInTime = freeAt + (workAhead + work) / slots <= behind.deadlineAt;
+            }
+            workAhead += behind.deadlineWork;
+        }
+        ordered.clear();
+        return isInTime;
+    }
+
+    /**
+     * Returns the uptime at which a showing SuperToast gives up its slot. The timer of a
+     * dismissing SuperToast already points at the release, otherwise the hide animation
+     * still follows.
+     */
+    private static long getReleaseTime(ToastRecord showing, long now) {
+        if (showing.dismissAt == 0) {
+            return now + (showing.isDismissing ? AnimationUtils.HIDE_DURATION : showing.getSlotTime());
+        }
+        return showing.dismissAt + (showing.isDismissing ? 0 : AnimationUtils.HIDE_DURATION);
+    }
+
+    /**
+     * Forgets a pending SuperToast that its scheduler replaced with a newer one.
+     *
+     * @param record The replaced record, may be null
+     */
+    private void dropReplaced(ToastRecord record) {
+        if (record == null || record.toastQueue == null) return;
+        record.toastQueue.removeCoalescable(record);
+        record.toastQueue = null;
+        record.remainingDuration = 0;
+        unindexGroup(record);
+        mMetrics.onReplaced();
+    }
+
+    /**
+     * Sets the built-in scheduler of every display target. Pending SuperToasts are handed
+     * over to the new schedulers in the order they arrived. Must be called on the main thread.
+     *
+     * @param schedulerPolicy The built-in scheduler
+     */
+    void setScheduler(@Style.SchedulerPolicy int schedulerPolicy) {
+        ToastScheduler.Factory factory = createSchedulerFactory(schedulerPolicy, mSourceWeights);
+        if (factory == null) {
+            // Anything that is not a built-in scheduler falls back to the default
+            schedulerPolicy = Style.SCHEDULER_STRICT_PRIORITY;
+            factory = createSchedulerFactory(schedulerPolicy, mSourceWeights);
+        }
+        setScheduler(factory, schedulerPolicy);
+    }
+
+    /**
+     * Returns a factory of a built-in scheduler.
+     *
+     * @param schedulerPolicy The built-in scheduler
+     * @param sourceWeights The weight of every source, shared with the schedulers
+     * @return The factory or null if the policy is not a built-in scheduler
+     */
+    static ToastScheduler.Factory createSchedulerFactory(@Style.SchedulerPolicy int schedulerPolicy,
+            final HashMap<String, Integer> sourceWeights) {
+        switch (schedulerPolicy) {
+            case Style.SCHEDULER_STRICT_PRIORITY:
+                return new ToastScheduler.Factory() {
+
+                    @Override
+                    public ToastScheduler create() {
+                        return new StrictPriorityScheduler();
+                    }
+                };
+            case Style.SCHEDULER_EARLIEST_DEADLINE:
+                return new ToastScheduler.Factory() {
+
+                    @Override
+                    public ToastScheduler create() {
+                        return new EarliestDeadlineScheduler();
+                    }
+                };
+            case Style.SCHEDULER_WEIGHTED_FAIR:
+                return new ToastScheduler.Factory() {
+
+                    @Override
+                    public ToastScheduler create() {
+                        return new WeightedFairScheduler(sourceWeights);
+                    }
+                };
+            case Style.SCHEDULER_LATEST_WINS:
+                return new ToastScheduler.Factory() {
+
+                    @Override
+                    public ToastScheduler create() {
+                        return new LatestWinsScheduler();
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Sets a custom scheduler for every display target. Must be called on the main thread.
+     *
+     * @param factory Creates the scheduler of every display target
+     */
+    void setScheduler(ToastScheduler.Factory factory) {
+        setScheduler(factory, Style.SCHEDULER_CUSTOM);
+    }
+
+    private void setScheduler(ToastScheduler.Factory factory, int schedulerPolicy) {
+        flushBatch();
+        mSchedulerFactory = factory;
+        mSchedulerPolicy = schedulerPolicy;
+
+        final long now = mClock.uptimeMillis();
+        final ArrayList<ToastRecord> replaced = new ArrayList<>();
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            toastQueue.setScheduler(factory.create(), now, replaced);
+            markDirty(toastQueue);
+        }
+        for (ToastRecord record : replaced) dropReplaced(record);
+    }
+
+    @Style.SchedulerPolicy
+    int getSchedulerPolicy() {
+        return mSchedulerPolicy;
+    }
+
+    /**
+     * Sets the share of the display time of a source under {@link Style#SCHEDULER_WEIGHTED_FAIR}.
+     *
+     * @param source The source tag
+     * @param weight The weight of the source, one by default
+     */
+    void setSourceWeight(String source, int weight) {
+        if (weight < 1) throw new IllegalArgumentException(ERROR_SOURCE_WEIGHT);
+        mSourceWeights.put(source, weight);
+    }
+
+    /**
+     * Pauses or resumes every queue hosted by an Activity.
+     */
+    private void setHostVisible(Object host, boolean isVisible) {
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            if (toastQueue.host != host || toastQueue.isPaused != isVisible) continue;
+            if (isVisible) resumeQueue(toastQueue);
+            else pauseQueue(toastQueue);
+        }
+    }
+
+    /**
+     * Cancels and forgets every queue hosted by a destroyed Activity, so neither the Activity
+     * nor the Views of its SuperActivityToasts are kept alive by a queue that would stay
+     * paused forever. The dismiss listeners are called once the queues are gone.
+     */
+    private void cancelHost(Object host) {
+        flushBatch();
+        final ArrayList<ToastRecord> cancelled = new ArrayList<>();
+        final Iterator<ToastQueue> iterator = mToastQueues.values().iterator();
+        while (iterator.hasNext()) {
+            final ToastQueue toastQueue = iterator.next();
+            if (toastQueue.host != host) continue;
+            iterator.remove();
+
+            for (ToastRecord record : toastQueue.showing) {
+                mTimers.remove(record);
+                mFrameAttaches.remove(record.superToast);
+                mFrameDetaches.remove(record.superToast);
+                cancelled.add(record);
+            }
+            cancelled.addAll(toastQueue.pending);
+            cancelAllSuperToasts(toastQueue);
+            if (toastQueue.isDirty) {
+                toastQueue.isDirty = false;
+                mDirtyQueues.remove(toastQueue);
+            }
+        }
+        if (cancelled.isEmpty()) return;
+
+        for (ToastRecord record : cancelled) unindexGroup(record);
+        publishState();
+        for (ToastRecord record : cancelled) notifyDismissed(record.superToast);
+    }
+
+    private static void notifyDismissed(SuperToast superToast) {
+        if (superToast.getOnDismissListener() == null) return;
+        superToast.getOnDismissListener().onDismiss(superToast.isViewCreated()
+                ? superToast.getView() : null, superToast.getStyle().dismissToken);
+    }
+
+    /**
+     * Freezes the timers of the showing SuperToasts of a queue and stops it from showing
+     * anything new, so nothing is inflated, animated or counted down while nobody can see it.
+     */
+    private void pauseQueue(ToastQueue toastQueue) {
+        toastQueue.isPaused = true;
+        final long now = mClock.uptimeMillis();
+        for (ToastRecord record : toastQueue.showing) {
+            if (record.isDismissing || !mTimers.remove(record)) continue;
+            record.remainingDuration = Math.max(1, record.dismissAt - now);
+            record.dismissAt = 0;
+        }
+    }
+
+    /**
+     * Restarts the frozen timers of a queue with their remaining durations and lets
+     * the queue show its pending SuperToasts again.
+     */
+    private void resumeQueue(ToastQueue toastQueue) {
+        toastQueue.isPaused = false;
+        for (ToastRecord record : toastQueue.showing) {
+            if (record.isDismissing || record.remainingDuration == 0) continue;
+            startTimer(record, record.superToast);
+        }
+        markDirty(toastQueue);
+    }
+
+    /**
+     * Starts the removal timer of an attached SuperToast, or only records its duration
+     * if its queue is paused.
+     */
+    private void startTimer(ToastRecord record, SuperToast superToast) {
+        final long duration = takeDisplayDuration(superToast);
+        if (record.toastQueue != null && record.toastQueue.isPaused) {
+            record.remainingDuration = duration;
+        } else {
+            scheduleTimer(record, mClock.uptimeMillis() + duration);
+        }
+    }
+
+    /**
+     * Puts a SuperToast into the timing wheel, or adds it right away if it is already due.
+     */
+    private void schedule(SuperToast superToast, long uptime) {
+        final ToastRecord record = superToast.getRecord();
+        if (record.toastQueue != null || record.isDeferred
+                || record.timerSlot != TimerWheel.NOT_SCHEDULED) return;
+
+        final long now = mClock.uptimeMillis();
+        if (uptime <= now) {
+            add(superToast, now);
+            return;
+        }
+        mScheduled.schedule(record, uptime, now);
+        indexGroup(record);
+        armWheel();
+    }
+
+    /**
+     * Wakes the main thread for the next occupied slot of the timing wheel. A single
+     * message serves every scheduled SuperToast.
+     */
+    private void armWheel() {
+        final long wakeUp = mScheduled.getNextWakeUp();
+        if (wakeUp < 0 || wakeUp >= mWheelWakeUp) return;
+        mExecutor.cancel(mTickWheel);
+        mWheelWakeUp = wakeUp;
+        mExecutor.executeAt(mTickWheel, wakeUp);
+    }
+
+    /**
+     * Adds every scheduled SuperToast that is due and rearms the wheel for the rest.
+     */
+    private void tickWheel() {
+        mWheelWakeUp = Long.MAX_VALUE;
+        final long now = mClock.uptimeMillis();
+        final ArrayList<ToastRecord> due = new ArrayList<>();
+        mScheduled.advance(now, due);
+        for (ToastRecord record : due) add(record.superToast, now);
+        armWheel();
+    }
+
+    private static boolean isExpired(ToastRecord record, long now) {
+        return record.expiresAt > 0 && record.expiresAt <= now;
+    }
+
+    /**
+     * Drops a pending or deferred SuperToast whose time to live has run out. Its View is
+     * never inflated or attached.
+     */
+    private void expireSuperToast(ToastRecord record) {
+        if (record.isDeferred) {
+            record.isDeferred = false;
+            mDeferred.remove(record);
+        } else {
+            final ToastQueue toastQueue = record.toastQueue;
+            if (toastQueue == null || !toastQueue.remove(record)) return;
+            toastQueue.removeCoalescable(record);
+            record.toastQueue = null;
+            if (toastQueue.isEmpty() && mToastQueues.get(toastQueue.target) == toastQueue) {
+                mToastQueues.remove(toastQueue.target);
+            }
+        }
+        notifyExpired(record);
+    }
+
+    private void notifyExpired(ToastRecord record) {
+        record.expiresAt = 0;
+        unindexGroup(record);
+        mMetrics.onExpired();
+
+        final SuperToast superToast = record.superToast;
+        if (superToast.getOnExpiredListener() != null) {
+            superToast.getOnExpiredListener().onExpired(superToast);
+        }
+    }
+
+    /**
+     * Makes sure a sweep runs no later than the given expiry.
+     */
+    private void scheduleSweep(long expiresAt) {
+        if (expiresAt == 0 || expiresAt >= mNextSweepAt) return;
+        mNextSweepAt = expiresAt;
+        mExecutor.cancel(mSweepExpired);
+        mExecutor.executeAt(mSweepExpired, expiresAt);
+    }
+
+    /**
+     * Expires every pending and deferred SuperToast whose time to live has run out and
+     * schedules the next sweep for the earliest remaining expiry. The head of a queue is
+     * also checked lazily before it is shown, so the sweep only has to keep memory in check.
+     */
+    private void sweepExpiredSuperToasts() {
+        final long now = mClock.uptimeMillis();
+        long nextSweepAt = Long.MAX_VALUE;
+        mNextSweepAt = Long.MAX_VALUE;
+
+        final ArrayList<ToastRecord> expired = new ArrayList<>();
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            for (ToastRecord record : toastQueue.pending) {
+                if (isExpired(record, now)) expired.add(record);
+                else if (record.expiresAt > 0) nextSweepAt = Math.min(nextSweepAt, record.expiresAt);
+            }
+        }
+        for (ToastRecord record : mDeferred) {
+            if (isExpired(record, now)) expired.add(record);
+            else if (record.expiresAt > 0) nextSweepAt = Math.min(nextSweepAt, record.expiresAt);
+        }
+
+        for (ToastRecord record : expired) expireSuperToast(record);
+        if (nextSweepAt != Long.MAX_VALUE) scheduleSweep(nextSweepAt);
+    }
+
+    /**
+     * Returns true if any rate limit is configured.
+     */
+    private boolean isRateLimited() {
+        return mRateLimit != null || !mPriorityLevelRateLimits.isEmpty();
+    }
+
+    /**
+     * Returns true if both the global bucket and the bucket of the SuperToast's priority
+     * level have a token. No token is taken. This never allocates.
+     *
+     * @return true if the SuperToast may be queued
+     */
+    private boolean hasToken(SuperToast superToast, long now) {
+        if (!isRateLimited()) return true;
+        final TokenBucket priorityLevelRateLimit = mPriorityLevelRateLimits
+                .get(superToast.getStyle().priorityLevel);
+        if (mRateLimit != null && !mRateLimit.hasToken(now)) return false;
+        return priorityLevelRateLimit == null || priorityLevelRateLimit.hasToken(now);
+    }
+
+    /**
+     * Takes a token from both buckets of a SuperToast that is queued. Only call after
+     * {@link #hasToken(SuperToast, long)} returned true for the same SuperToast.
+     */
+    private void acquireToken(SuperToast superToast) {
+        if (!isRateLimited()) return;
+        final TokenBucket priorityLevelRateLimit = mPriorityLevelRateLimits
+                .get(superToast.getStyle().priorityLevel);
+        if (mRateLimit != null) mRateLimit.acquire();
+        if (priorityLevelRateLimit != null) priorityLevelRateLimit.acquire();
+    }
+
+    /**
+     * Returns the number of milliseconds until both buckets of a SuperToast have a token.
+     */
+    private long getRateLimitWaitTime(SuperToast superToast, long now) {
+        long waitTime = mRateLimit != null ? mRateLimit.getWaitTime(now) : 0;
+        final TokenBucket priorityLevelRateLimit = mPriorityLevelRateLimits
+                .get(superToast.getStyle().priorityLevel);
+        if (priorityLevelRateLimit != null) {
+            waitTime = Math.max(waitTime, priorityLevelRateLimit.getWaitTime(now));
+        }
+        return waitTime;
+    }
+
+    /**
+     * Applies the rate limit policy to a SuperToast that arrived without a token.
+     *
+     * @param superToast The new SuperToast
+     * @param original An identical pending or showing SuperToast, may be null
+     */
+    private void rateLimit(SuperToast superToast, ToastRecord original) {
+        switch (mRateLimitPolicy) {
+            case Style.RATE_LIMIT_DEFER:
+                final ToastRecord record = superToast.getRecord();
+                record.isDeferred = true;
+                mDeferred.add(record);
+                indexGroup(record);
+                scheduleSweep(record.expiresAt);
+                if (mRetryWakeUp == Long.MAX_VALUE) {
+                    final long now = mClock.uptimeMillis();
+                    mRetryWakeUp = now + getRateLimitWaitTime(superToast, now);
+                    mExecutor.executeAt(mRetryDeferred, mRetryWakeUp);
+                }
+                mMetrics.onRateLimited(Style.RATE_LIMIT_DEFER);
+                return;
+
+            case Style.RATE_LIMIT_COALESCE:
+                if (original != null) {
+                    coalesce(original, superToast);
+                    mMetrics.onRateLimited(Style.RATE_LIMIT_COALESCE);
+                    return;
+                }
+                break;
+        }
+        mMetrics.onRateLimited(Style.RATE_LIMIT_DROP);
+    }
+
+    /**
+     * Queues every deferred SuperToast whose buckets have refilled and schedules
+     * another retry for the rest.
+     */
+    private void retryDeferredSuperToasts() {
+        mRetryWakeUp = Long.MAX_VALUE;
+        final long now = mClock.uptimeMillis();
+        long nextRetry = Long.MAX_VALUE;
+        for (int i = mDeferred.size(); i > 0; i--) {
+            final ToastRecord record = mDeferred.poll();
+            if (isExpired(record, now)) {
+                record.isDeferred = false;
+                notifyExpired(record);
+                continue;
+            }
+
+            final long waitTime = getRateLimitWaitTime(record.superToast, now);
+            if (waitTime > 0) {
+                // Rotate to the back so the arrival order is kept
+                mDeferred.add(record);
+                nextRetry = Math.min(nextRetry, now + waitTime);
+            } else {
+                record.isDeferred = false;
+                add(record.superToast, record.enqueuedAt);
+            }
+        }
+        if (!mDeferred.isEmpty()) {
+            mRetryWakeUp = nextRetry;
+            mExecutor.cancel(mRetryDeferred);
+            mExecutor.executeAt(mRetryDeferred, nextRetry);
+        }
+    }
+
+    /**
+     * Applies the overflow policy to a new SuperToast arriving at a full queue.
+     *
+     * @param toastQueue The full queue
+     * @param superToast The new SuperToast
+     * @param original An identical pending or showing SuperToast, may be null
+     * @return true if room was made for the new SuperToast
+     */
+    private boolean overflow(ToastQueue toastQueue, SuperToast superToast, ToastRecord original) {
+        switch (mOverflowPolicy) {
+            case Style.OVERFLOW_DROP_OLDEST:
+                evict(toastQueue, toastQueue.peekOldest());
+                mMetrics.onOverflow(Style.OVERFLOW_DROP_OLDEST);
+                return true;
+
+            case Style.OVERFLOW_DROP_LOWEST_PRIORITY:
+                final ToastRecord lowest = toastQueue.peekLowestPriority();
+
+                // Higher values are lower priority levels, never evict for something less important
+                if (lowest != null && lowest.indexedPriorityLevel
+                        >= superToast.getStyle().priorityLevel) {
+                    evict(toastQueue, lowest);
+                    mMetrics.onOverflow(Style.OVERFLOW_DROP_LOWEST_PRIORITY);
+                    return true;
+                }
+                break;
+
+            case Style.OVERFLOW_COALESCE:
+                if (original != null) {
+                    coalesce(original, superToast);
+                    mMetrics.onOverflow(Style.OVERFLOW_COALESCE);
+                    return false;
+                }
+                break;
+        }
+        mMetrics.onOverflow(Style.OVERFLOW_REJECT_NEW);
+        return false;
+    }
+
+    /**
+     * Drops a pending SuperToast to make room for a new one.
+     */
+    private void evict(ToastQueue toastQueue, ToastRecord record) {
+        if (record == null || !toastQueue.remove(record)) return;
+        toastQueue.removeCoalescable(record);
+        record.toastQueue = null;
+        unindexGroup(record);
+    }
+
+    /**
+     * Counts a duplicate against the original SuperToast and extends the original's
+     * duration if desired. The duplicate itself is never inflated or queued.
+     *
+     * @param original The record of the pending or showing SuperToast
+     * @param duplicate The SuperToast that was shown again
+     */
+    private void coalesce(ToastRecord original, SuperToast duplicate) {
+        final Style style = original.superToast.getStyle();
+        style.occurrences += Math.max(1, duplicate.getStyle().occurrences);
+
+        if (style.coalesceExtension > 0) {
+            style.duration += style.coalesceExtension;
+
+            // A pending SuperToast picks up the new duration when it is displayed
+            if (original.remainingDuration > 0) original.remainingDuration += style.coalesceExtension;
+            if (original.toastQueue != null) original.toastQueue.extend(original, style.coalesceExtension);
+            if (original.dismissAt > 0) {
+                scheduleTimer(original, original.dismissAt + style.coalesceExtension);
+            }
+        }
+        original.superToast.onCoalesced();
+    }
+
+    /**
+     * Sets the priority level of a SuperToast from any thread and moves it to its new
+     * place in the queue if it is pending. A SuperToast that is not queued yet, such as one
+     * still being built, takes the new priority level right away. Off the main thread a
+     * queued SuperToast is moved by the next batch, so the queue never sees a priority
+     * level change under its feet.
+     *
+     * @param superToast The SuperToast or SuperActivityToast to reprioritize
+     * @param priorityLevel The new priority level
+     */
+    void reprioritize(SuperToast superToast, @Style.PriorityLevel int priorityLevel) {
+        if (mExecutor.isExecutorThread()) {
+            // A posted add picks up the new priority level when the batch offers it
+            setPriorityLevel(superToast, priorityLevel);
+            return;
+        }
+        if (superToast.getRecord().toastQueue == null) superToast.getStyle().priorityLevel = priorityLevel;
+
+        // The SuperToast may be queued by a batch running right now, which moves it again
+        post(new Operation(Operation.REPRIORITIZE, superToast, null, 0, priorityLevel));
+    }
+
+    private void setPriorityLevel(SuperToast superToast, int priorityLevel) {
+        superToast.getStyle().priorityLevel = priorityLevel;
+        final ToastRecord record = superToast.getRecord();
+        if (record.toastQueue != null) {
+            record.toastQueue.update(record, mClock.uptimeMillis());
+            mIsSnapshotStale = true;
+        }
+    }
+
+    /**
+     * Bounds the number of pending SuperToasts of every display target. Showing
+     * SuperToasts do not count against the capacity.
+     *
+     * @param queueCapacity The maximum number of pending SuperToasts per target
+     * @param overflowPolicy What to do when a SuperToast arrives at a full queue
+     */
+    void setQueueCapacity(int queueCapacity, @Style.OverflowPolicy int overflowPolicy) {
+        if (queueCapacity < 1) throw new IllegalArgumentException(ERROR_QUEUE_CAPACITY);
+        mQueueCapacity = queueCapacity;
+        mOverflowPolicy = overflowPolicy;
+    }
+
+    int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    @Style.OverflowPolicy
+    int getOverflowPolicy() {
+        return mOverflowPolicy;
+    }
+
+    ToastMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Limits the number of SuperToasts accepted per second across all priority levels. On
+     * the main thread the limit applies to every later call, other threads have it
+     * applied by the next batch, so the limiter is only ever touched on the main thread.
+     *
+     * @param toastsPerSecond The sustained rate or {@link Style#RATE_UNLIMITED}
+     * @param burst The number of SuperToasts that may be accepted at once
+     */
+    void setRateLimit(float toastsPerSecond, int burst) {
+        final TokenBucket tokenBucket = createTokenBucket(toastsPerSecond, burst);
+        if (!mExecutor.isExecutorThread()) {
+            post(new Operation(Operation.SET_RATE_LIMIT, 0, tokenBucket));
+            return;
+        }
+        flushBatch();
+        replaceRateLimit(tokenBucket);
+    }
+
+    /**
+     * Limits the number of SuperToasts of a priority level accepted per second. On the
+     * main thread the limit applies to every later call, other threads have it applied by
+     * the next batch.
+     *
+     * @param priorityLevel The priority level to limit
+     * @param toastsPerSecond The sustained rate or {@link Style#RATE_UNLIMITED}
+     * @param burst The number of SuperToasts that may be accepted at once
+     */
+    void setRateLimit(int priorityLevel, float toastsPerSecond, int burst) {
+        final TokenBucket tokenBucket = createTokenBucket(toastsPerSecond, burst);
+        if (!mExecutor.isExecutorThread()) {
+            post(new Operation(Operation.SET_PRIORITY_LEVEL_RATE_LIMIT, priorityLevel, tokenBucket));
+            return;
+        }
+        flushBatch();
+        replaceRateLimit(priorityLevel, tokenBucket);
+    }
+
+    private void replaceRateLimit(TokenBucket tokenBucket) {
+        mRateLimit = tokenBucket;
+
+        // Deferred SuperToasts may fit the new limit, retry them after the batch
+        mExecutor.execute(mRetryDeferred);
+    }
+
+    private void replaceRateLimit(int priorityLevel, TokenBucket tokenBucket) {
+        if (tokenBucket != null) mPriorityLevelRateLimits.put(priorityLevel, tokenBucket);
+        else mPriorityLevelRateLimits.remove(priorityLevel);
+
+        // Deferred SuperToasts may fit the new limit, retry them after the batch
+        mExecutor.execute(mRetryDeferred);
+    }
+
+    private TokenBucket createTokenBucket(float toastsPerSecond, int burst) {
+        if (toastsPerSecond < 0f || burst < 1) throw new IllegalArgumentException(ERROR_RATE_LIMIT);
+        if (toastsPerSecond == Style.RATE_UNLIMITED) return null;
+        return new TokenBucket(toastsPerSecond, burst, mClock.uptimeMillis());
+    }
+
+    void setRateLimitPolicy(@Style.RateLimitPolicy int rateLimitPolicy) {
+        mRateLimitPolicy = rateLimitPolicy;
+    }
+
+    @Style.RateLimitPolicy
+    int getRateLimitPolicy() {
+        return mRateLimitPolicy;
+    }
+
+    /**
+     * Sets the number of SuperToasts that may be shown at the same time in a display target,
+     * such as the ViewGroup of SuperActivityToasts.
+     *
+     * @param target The display target
+     * @param maxConcurrent The desired number of slots
+     */
+    void setMaxConcurrent(Object target, int maxConcurrent) {
+        if (maxConcurrent < 1) throw new IllegalArgumentException(ERROR_MAX_CONCURRENT);
+        mMaxConcurrent.put(target, maxConcurrent);
+
+        // New slots may have opened up
+        final ToastQueue toastQueue = mToastQueues.get(target);
+        if (toastQueue != null) markDirty(toastQueue);
+    }
+
+    /**
+     * Returns the number of SuperToasts that may be shown at the same time in a display
+     * target. SuperToasts in the WindowManager are always shown one at a time.
+     *
+     * @param target The display target
+     * @return The number of slots
+     */
+    int getMaxConcurrent(Object target) {
+        final Integer maxConcurrent = mMaxConcurrent.get(target);
+        return maxConcurrent != null ? maxConcurrent : 1;
+    }
+
+    private int getMaxConcurrent(ToastQueue toastQueue) {
+        return getMaxConcurrent(toastQueue.target);
+    }
+
+    /**
+     * Show the next SuperToasts in a queue until every free slot of its target is filled,
+     * then restack the SuperActivityToasts of a multi-slot ViewGroup once. Only the batch
+     * calls this method, everything else marks the queue dirty.
+     *
+     * @param toastQueue The queue to schedule
+     */
+    private void showNextSuperToast(ToastQueue toastQueue) {
+        final int maxConcurrent = getMaxConcurrent(toastQueue);
+        final long now = mClock.uptimeMillis();
+
+        toastQueue.scheduler.onTick(now);
+
+        // A paused queue shows nothing new until its Activity is visible again
+        while (!toastQueue.isPaused && !toastQueue.pending.isEmpty()) {
+            final ToastRecord record = toastQueue.peek(now);
+            if (record == null) break;
+
+            // Purge stale SuperToasts lazily as they reach the head
+            if (isExpired(record, now)) {
+                expireSuperToast(record);
+                continue;
+            }
+
+            // A full target only takes a more important SuperToast if it may preempt
+            if (toastQueue.showing.size() >= maxConcurrent && !(mIsPreemptive
+                    && preemptSuperToast(toastQueue, record))) {
+                break;
+            }
+
+            // Pin the next SuperToast in the queue so later arrivals cannot reorder it
+            toastQueue.take(record, now);
+            toastQueue.showing.add(record);
+
+            // A suspended SuperToast resuming has been counted the first time it was displayed
+            if (record.remainingDuration == 0) {
+                final Style style = record.superToast.getStyle();
+                mMetrics.onDisplayed(style.priorityLevel, style.source, now - record.enqueuedAt);
+            }
+            displaySuperToast(record.superToast);
+        }
+        if (maxConcurrent > 1) mDisplay.restack(toastQueue.showing);
+        if (toastQueue.isEmpty() && mToastQueues.get(toastQueue.target) == toastQueue) {
+            mToastQueues.remove(toastQueue.target);
+        }
+    }
+
+    /**
+     * Suspends the least important showing SuperToast of a queue if it has a lower
+     * priority level than the given SuperToast. Only SuperToasts with a running timer
+     * can be suspended.
+     *
+     * @param toastQueue The queue of a full target
+     * @param urgent The next pending SuperToast
+     * @return true if a slot was freed
+     */
+    private boolean preemptSuperToast(ToastQueue toastQueue, ToastRecord urgent) {
+        ToastRecord victim = null;
+        for (ToastRecord record : toastQueue.showing) {
+            if (record.isDismissing || record.dismissAt == 0) continue;
+            if (victim == null || mComparator.compare(record, victim) > 0) victim = record;
+        }
+        if (victim == null || victim.superToast.getStyle().priorityLevel
+                <= urgent.superToast.getStyle().priorityLevel) {
+            return false;
+        }
+
+        suspendSuperToast(toastQueue, victim);
+        return true;
+    }
+
+    /**
+     * Takes a showing SuperToast off screen without dismissing it and queues it again with
+     * its remaining time. It keeps its enqueue sequence so it resumes ahead of later
+     * arrivals of the same priority level.
+     */
+    private void suspendSuperToast(ToastQueue toastQueue, ToastRecord record) {
+        final SuperToast superToast = record.superToast;
+        mTimers.remove(record);
+        record.remainingDuration = Math.max(1, record.dismissAt - mClock.uptimeMillis());
+        record.dismissAt = 0;
+
+        // It has been on screen already, the remaining time is never stale
+        record.expiresAt = 0;
+        toastQueue.showing.remove(record);
+        mDisplay.remove(superToast);
+
+        enqueue(toastQueue, record);
+        mMetrics.onPreemption();
+    }
+
+    /**
+     * Returns how long a SuperToast shows for, which is only the remaining time if
+     * it was suspended before.
+     */
+    private static long takeDisplayDuration(SuperToast superToast) {
+        final ToastRecord record = superToast.getRecord();
+        final long remainingDuration = record.remainingDuration;
+        record.remainingDuration = 0;
+        return remainingDuration > 0 ? remainingDuration
+                : superToast.getDuration() + AnimationUtils.SHOW_DURATION;
+    }
+
+    /**
+     * Frees the showing slot once a SuperToast has been completely removed and
+     * shows the next SuperToast in its queue if any exist.
+     *
+     * @param superToast The SuperToast (or SuperActivityToast) that was removed
+     */
+    private void releaseSuperToast(SuperToast superToast) {
+        final ToastRecord record = superToast.getRecord();
+        final ToastQueue toastQueue = record.toastQueue;
+        if (toastQueue == null || !toastQueue.showing.remove(record)) return;
+        toastQueue.removeCoalescable(record);
+        record.toastQueue = null;
+        mTimers.remove(record);
+        markDirty(toastQueue);
+    }
+
+    /**
+     * Removes a showing SuperToast, or releases the slot of a dismissing one, at the given
+     * uptime. Rescheduling or cancelling is a heap operation and never touches the looper.
+     */
+    private void scheduleTimer(ToastRecord record, long uptime) {
+        record.dismissAt = uptime;
+        if (mTimers.contains(record)) mTimers.update(record);
+        else mTimers.add(record);
+        armTimer();
+    }
+
+    /**
+     * Makes sure the TIMER_DUE message fires no later than the earliest timer. The message
+     * only has to be replaced when a timer earlier than every other one is scheduled.
+     */
+    private void armTimer() {
+        final ToastRecord head = mTimers.peek();
+        if (head == null || head.dismissAt >= mTimerWakeUp) return;
+        if (mTimerWakeUp != Long.MAX_VALUE) mExecutor.cancel(mTimerDue);
+        mTimerWakeUp = head.dismissAt;
+        mExecutor.executeAt(mTimerDue, mTimerWakeUp);
+    }
+
+    /**
+     * Removes every showing SuperToast whose duration has passed and releases every
+     * dismissed SuperToast whose hide duration has passed, then rearms the timer.
+     */
+    private void fireTimers() {
+        mTimerWakeUp = Long.MAX_VALUE;
+        final long now = mClock.uptimeMillis();
+
+        ToastRecord record;
+        while ((record = mTimers.peek()) != null && record.dismissAt <= now) {
+            mTimers.poll();
+            if (record.isDismissing) releaseSuperToast(record.superToast);
+            else removeSuperToast(record.superToast);
+        }
+        armTimer();
+    }
+
+    private void handleMessage(int what) {
+        mMetrics.onLooperMessage();
+        switch (what) {
+            case Messages.TIMER_DUE:
+                fireTimers();
+                break;
+            case Messages.APPLY_BATCH:
+                applyBatch();
+                break;
+            case Messages.RETRY_DEFERRED:
+                retryDeferredSuperToasts();
+                break;
+            case Messages.SWEEP_EXPIRED:
+                sweepExpiredSuperToasts();
+                break;
+            case Messages.TICK_WHEEL:
+                tickWheel();
+                break;
+            case Messages.AGE_PRIORITIES:
+                agePendingSuperToasts();
+                break;
+            case Messages.PUBLISH_SNAPSHOT:
+                mIsSnapshotRequested.set(false);
+                if (mIsSnapshotStale) publishSnapshot();
+                return;
+        }
+        publishState();
+    }
+
+    /**
+     * Defers view attach and detach work to the next Choreographer frame so that every
+     * change of a frame lands in the same traversal instead of mid-frame.
+     *
+     * @param isFrameAligned true to align with the next frame
+     */
+    void setFrameAligned(boolean isFrameAligned) {
+        mIsFrameAligned = isFrameAligned;
+    }
+
+    boolean isFrameAligned() {
+        return mIsFrameAligned;
+    }
+
+    /**
+     * Improves the effective priority level of a pending SuperToast by one level for every
+     * interval it has waited so that a steady stream of important SuperToasts cannot starve
+     * the others. The pending SuperToasts are re-evaluated once per interval, not per
+     * comparison. Zero disables aging.
+     *
+     * @param agingInterval The milliseconds of waiting per gained level
+     */
+    void setPriorityAging(int agingInterval) {
+        if (agingInterval < 0) throw new IllegalArgumentException(ERROR_AGING_INTERVAL);
+        mAgingInterval = agingInterval;
+
+        // Re-evaluate everything pending with the new interval, this also undoes old aging
+        mExecutor.execute(mAgePriorities);
+    }
+
+    int getPriorityAging() {
+        return mAgingInterval;
+    }
+
+    /**
+     * Makes sure an aging pass runs one interval from now.
+     */
+    private void scheduleAging() {
+        if (mAgingInterval == Style.AGING_DISABLED || mIsAgingScheduled) return;
+        mIsAgingScheduled = true;
+        mExecutor.executeAt(mAgePriorities, mClock.uptimeMillis() + mAgingInterval);
+    }
+
+    /**
+     * Recomputes the levels every pending SuperToast has gained by waiting and moves the
+     * changed ones to their new place in the heap. Runs once per aging interval while
+     * anything is pending.
+     */
+    private void agePendingSuperToasts() {
+        mIsAgingScheduled = false;
+        mExecutor.cancel(mAgePriorities);
+        final long now = mClock.uptimeMillis();
+        final int agingInterval = mAgingInterval;
+        boolean isPending = false;
+
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            // Collect first, moving a record while iterating the heap would skip others
+            for (ToastRecord record : toastQueue.pending) {
+                final int agedLevels = agingInterval == Style.AGING_DISABLED ? 0
+                        : (int) Math.min(Style.PRIORITY_LOW, (now - record.enqueuedAt) / agingInterval);
+                if (agedLevels != record.agedLevels) {
+                    record.agedLevels = agedLevels;
+                    mAged.add(record);
+                }
+            }
+            for (ToastRecord record : mAged) toastQueue.update(record, now);
+            if (!mAged.isEmpty()) mIsSnapshotStale = true;
+            mAged.clear();
+            isPending |= !toastQueue.pending.isEmpty();
+        }
+        if (isPending) scheduleAging();
+    }
+
+    /**
+     * Lets a more important SuperToast suspend a showing SuperToast of a full target.
+     * The suspended SuperToast resumes later for its remaining time.
+     *
+     * @param isPreemptive true to enable preemption
+     */
+    void setPreemptive(boolean isPreemptive) {
+        mIsPreemptive = isPreemptive;
+    }
+
+    boolean isPreemptive() {
+        return mIsPreemptive;
+    }
+
+    /**
+     * Posts a callback to the next Choreographer frame from any thread. Off the main
+     * thread the callback is handed to the main looper first since the Choreographer
+     * belongs to the thread that uses it.
+     *
+     * @param frameCallback The callback to run on the next frame
+     */
+    void postFrameCallback(final Choreographer.FrameCallback frameCallback) {
+        if (mExecutor.isExecutorThread()) {
+            mDisplay.postFrameCallback(frameCallback);
+            return;
+        }
+        mExecutor.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                mDisplay.postFrameCallback(frameCallback);
+            }
+        });
+    }
+
+    private void scheduleFrame() {
+        if (mIsFrameScheduled) return;
+        mIsFrameScheduled = true;
+        mDisplay.scheduleFrame();
+    }
+
+    /**
+     * Applies the attach and detach work collected since the last frame. Detaches run
+     * first so a SuperToast dismissed before its frame is never attached.
+     */
+    private void applyFrame() {
+        mIsFrameScheduled = false;
+
+        for (int i = 0; i < mFrameDetaches.size(); i++) detachSuperToast(mFrameDetaches.get(i));
+        mFrameDetaches.clear();
+
+        for (int i = 0; i < mFrameAttaches.size(); i++) {
+            final SuperToast superToast = mFrameAttaches.get(i);
+            final ToastRecord record = superToast.getRecord();
+            if (record.toastQueue != null && !record.isDismissing) attachSuperToast(superToast);
+        }
+        mFrameAttaches.clear();
+    }
+
+    /**
+     * Try to show the SuperToast. SuperToasts will be shown using the WindowManager while
+     * SuperActivityToasts will be shown using their supplied ViewGroup.
+     * @param superToast the SuperToast (or SuperActivityToast) to be shown
+     */
+    private void displaySuperToast(SuperToast superToast) {
+
+        // Make sure the SuperToast isn't already showing for some reason
+        if (mDisplay.isShowing(superToast)) return;
+
+        // Inflate and style the View only now that the SuperToast is actually shown, once per show
+        final ToastRecord record = superToast.getRecord();
+        if (!record.isPrepared) {
+            mDisplay.prepare(superToast);
+            record.isPrepared = true;
+        }
+
+        if (mIsFrameAligned) {
+            mFrameAttaches.add(superToast);
+            scheduleFrame();
+        } else {
+            attachSuperToast(superToast);
+        }
+    }
+
+    /**
+     * Attaches the View of a prepared SuperToast and starts its show animation and timer.
+     */
+    private void attachSuperToast(SuperToast superToast) {
+        final ToastRecord record = superToast.getRecord();
+        final boolean isStacked = record.toastQueue != null && getMaxConcurrent(record.toastQueue) > 1;
+        if (!mDisplay.attach(superToast, isStacked)) {
+            releaseSuperToast(superToast);
+            return;
+        }
+
+        // This will remove the SuperToast after the total duration
+        if (!(superToast instanceof SuperActivityToast)
+                || !((SuperActivityToast) superToast).isIndeterminate()) {
+            startTimer(record, superToast);
+        }
+    }
+
+    /**
+     * Removes a showing SuperToast. This method will remove the SuperToast from the Queue
+     * as well as try to show the next SuperToast if one exists in the Queue.
+     * Must be called on the main thread.
+     * @param superToast the SuperToast (or SuperActivityToast) to be removed
+     */
+    private void removeSuperToast(final SuperToast superToast) {
+        final ToastRecord record = superToast.getRecord();
+        final ToastQueue toastQueue = record.toastQueue;
+
+        // A scheduled SuperToast was never queued, simply cancel it
+        if (mScheduled.cancel(record)) {
+            unindexGroup(record);
+            return;
+        }
+
+        // A deferred SuperToast was never queued, forget it
+        if (record.isDeferred) {
+            record.isDeferred = false;
+            mDeferred.remove(record);
+            unindexGroup(record);
+            return;
+        }
+
+        // The SuperToast has already been removed
+        if (toastQueue == null) return;
+
+        // A SuperToast that is not pinned is at most pending, simply drop it from the queue
+        if (!toastQueue.showing.contains(record)) {
+            toastQueue.remove(record);
+            toastQueue.removeCoalescable(record);
+            record.toastQueue = null;
+            unindexGroup(record);
+            if (toastQueue.isEmpty()) mToastQueues.remove(toastQueue.target);
+            return;
+        }
+
+        // If the SuperToast has already been dismissed, do not attempt to dismiss it again
+        if (record.isDismissing) return;
+        record.isDismissing = true;
+        mTimers.remove(record);
+        unindexGroup(record);
+
+        // Duplicates arriving from now on start a new SuperToast
+        toastQueue.removeCoalescable(record);
+
+        if (mIsFrameAligned) {
+            mFrameDetaches.add(superToast);
+            scheduleFrame();
+        } else {
+            detachSuperToast(superToast);
+        }
+    }
+
+    /**
+     * Starts the hide animation of a dismissing SuperToast or detaches its View, then
+     * releases its slot once the display is done with it.
+     */
+    private void detachSuperToast(SuperToast superToast) {
+        final long releaseDelay = mDisplay.detach(superToast);
+        if (releaseDelay == 0) releaseSuperToast(superToast);
+        else if (releaseDelay > 0) {
+            // Show the next SuperToast in the queue if any exist after the hide duration
+            scheduleTimer(superToast.getRecord(), mClock.uptimeMillis() + releaseDelay);
+        }
+    }
+
+    /**
+     * Cancels and removes all pending and/or showing SuperToasts and SuperActivityToasts.
+     * On the main thread this happens right away together with the operations collected
+     * so far, other threads have it applied by the next batch.
+     */
+    void cancel() {
+        if (!mExecutor.isExecutorThread()) {
+            post(new Operation(Operation.CANCEL_ALL, (SuperToast) null));
+            return;
+        }
+
+        // Everything shown or dismissed before the cancel is cancelled as well
+        mOperations.clear();
+        cancelAllSuperToasts();
+
+        // Called by a listener of a running batch, that batch restacks and publishes
+        if (mIsApplyingBatch) return;
+        if (mIsBatchScheduled.get()) mExecutor.cancel(mApplyBatch);
+        applyBatch();
+    }
+
+    /**
+     * Cancels every SuperToast of a group. On the main thread this happens right away
+     * after the operations collected so far, other threads have it applied by the next batch.
+     *
+     * @param group The group tag
+     */
+    void cancelGroup(String group) {
+        if (!mExecutor.isExecutorThread()) {
+            post(new Operation(Operation.CANCEL_GROUP, group));
+            return;
+        }
+        flushBatch();
+        cancelGroupSuperToasts(group);
+        publishState();
+    }
+
+    private void cancelGroupSuperToasts(String group) {
+        ToastRecord record = mGroups.get(group);
+        while (record != null) {
+            // Removing a SuperToast unlinks it, so look at its neighbour first
+            final ToastRecord next = record.groupNext;
+            removeSuperToast(record.superToast);
+            record = next;
+        }
+    }
+
+    /**
+     * Returns the number of scheduled, deferred, pending and showing SuperToasts of a group.
+     * Must be called on the main thread.
+     *
+     * @param group The group tag
+     * @return The size of the group
+     */
+    int countGroup(String group) {
+        flushBatch();
+        int count = 0;
+        for (ToastRecord record = mGroups.get(group); record != null; record = record.groupNext) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sets the priority level of every SuperToast of a group from any thread. Off the
+     * main thread the change is applied by the next batch.
+     *
+     * @param group The group tag
+     * @param priorityLevel The new priority level
+     */
+    void reprioritizeGroup(String group, @Style.PriorityLevel int priorityLevel) {
+        if (!mExecutor.isExecutorThread()) {
+            post(new Operation(Operation.REPRIORITIZE_GROUP, null, group, 0, priorityLevel));
+            return;
+        }
+        flushBatch();
+        setGroupPriorityLevel(group, priorityLevel);
+    }
+
+    private void setGroupPriorityLevel(String group, int priorityLevel) {
+        final long now = mClock.uptimeMillis();
+        ToastRecord record = mGroups.get(group);
+        while (record != null) {
+            record.superToast.getStyle().priorityLevel = priorityLevel;
+            if (record.toastQueue != null) {
+                record.toastQueue.update(record, now);
+                mIsSnapshotStale = true;
+            }
+            record = record.groupNext;
+        }
+    }
+
+    /**
+     * Links a record into the list of its group. Records without a group or records that
+     * are already linked are left alone.
+     */
+    private void indexGroup(ToastRecord record) {
+        final String group = record.superToast.getStyle().group;
+        if (group == null || record.indexedGroup != null) return;
+        record.indexedGroup = group;
+        record.groupPrevious = null;
+        record.groupNext = mGroups.put(group, record);
+        if (record.groupNext != null) record.groupNext.groupPrevious = record;
+    }
+
+    /**
+     * Unlinks a record from the list of its group, if it is linked.
+     */
+    private void unindexGroup(ToastRecord record) {
+        if (record.indexedGroup == null) return;
+        if (record.groupPrevious != null) record.groupPrevious.groupNext = record.groupNext;
+        else if (record.groupNext != null) mGroups.put(record.indexedGroup, record.groupNext);
+        else mGroups.remove(record.indexedGroup);
+        if (record.groupNext != null) record.groupNext.groupPrevious = record.groupPrevious;
+        record.indexedGroup = null;
+        record.groupPrevious = null;
+        record.groupNext = null;
+    }
+
+    private void cancelAllSuperToasts() {
+        mExecutor.cancel(mTimerDue);
+        mTimerWakeUp = Long.MAX_VALUE;
+        mTimers.clear();
+        mExecutor.cancel(mRetryDeferred);
+        mRetryWakeUp = Long.MAX_VALUE;
+        mExecutor.cancel(mSweepExpired);
+        mNextSweepAt = Long.MAX_VALUE;
+        mExecutor.cancel(mTickWheel);
+        mWheelWakeUp = Long.MAX_VALUE;
+        mScheduled.clear();
+        mExecutor.cancel(mAgePriorities);
+        mIsAgingScheduled = false;
+
+        for (ToastRecord record : mDeferred) record.isDeferred = false;
+        mDeferred.clear();
+
+        for (ToastRecord head : mGroups.values()) {
+            for (ToastRecord record = head, next; record != null; record = next) {
+                next = record.groupNext;
+                record.indexedGroup = null;
+                record.groupPrevious = null;
+                record.groupNext = null;
+            }
+        }
+        mGroups.clear();
+
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            cancelAllSuperToasts(toastQueue);
+        }
+        mToastQueues.clear();
+        for (ToastQueue toastQueue : mDirtyQueues) toastQueue.isDirty = false;
+        mDirtyQueues.clear();
+
+        if (mIsFrameScheduled) {
+            mDisplay.cancelFrame();
+            mIsFrameScheduled = false;
+        }
+        mFrameAttaches.clear();
+        mFrameDetaches.clear();
+    }
+
+    /**
+     * Removes every showing SuperToast of a queue and clears its pending SuperToasts.
+     */
+    private void cancelAllSuperToasts(ToastQueue toastQueue) {
+        // Only the pinned SuperToasts can be on screen, everything else is pending
+        for (ToastRecord record : toastQueue.showing) {
+            record.toastQueue = null;
+            record.isCoalescable = false;
+            record.remainingDuration = 0;
+            record.dismissAt = 0;
+            mDisplay.remove(record.superToast);
+        }
+
+        // A suspended or paused SuperToast must not resume with its old time when shown again
+        for (ToastRecord record : toastQueue.pending) {
+            record.toastQueue = null;
+            record.isCoalescable = false;
+            record.remainingDuration = 0;
+            record.dismissAt = 0;
+        }
+        toastQueue.coalescable.clear();
+        toastQueue.showing.clear();
+        toastQueue.clearPending();
+    }
+
+    /**
+     * Publishes the queue size and marks the snapshot stale. Called at the end of every
+     * main thread pass that may have changed the queue, the snapshot itself is only
+     * rebuilt once somebody asks for it.
+     */
+    private void publishState() {
+        int size = mDeferred.size();
+        for (ToastQueue toastQueue : mToastQueues.values()) size += toastQueue.size();
+        mSize = size;
+        mIsSnapshotStale = true;
+    }
+
+    /**
+     * Copies the showing, pending and deferred SuperToasts into a new snapshot.
+     * Must be called on the main thread.
+     */
+    private void publishSnapshot() {
+        mIsSnapshotStale = false;
+        final ArrayList<SuperToast> showing = new ArrayList<>();
+        final ArrayList<SuperToast> pending = new ArrayList<>();
+        final ArrayList<SuperToast> deferred = new ArrayList<>(mDeferred.size());
+        for (ToastQueue toastQueue : mToastQueues.values()) {
+            for (ToastRecord record : toastQueue.showing) showing.add(record.superToast);
+            for (ToastRecord record : toastQueue.pending) pending.add(record.superToast);
+        }
+        for (ToastRecord record : mDeferred) deferred.add(record.superToast);
+        mSnapshot = new ToastSnapshot(++mSnapshotVersion, showing, pending, deferred);
+    }
+
+    /**
+     * Returns an immutable snapshot of the showing, pending and deferred SuperToasts.
+     * On the main thread the snapshot reflects every earlier call. Other threads get the
+     * most recently published snapshot and have a fresh one published if it is stale.
+     *
+     * @return The current ToastSnapshot
+     */
+    ToastSnapshot getSnapshot() {
+        if (mExecutor.isExecutorThread()) {
+            flushBatch();
+            if (mIsSnapshotStale) publishSnapshot();
+        } else if (mIsSnapshotStale && mIsSnapshotRequested.compareAndSet(false, true)) {
+            mExecutor.execute(mPublishSnapshot);
+        }
+        return mSnapshot;
+    }
+
+    /**
+     * Returns the number of showing, pending and deferred SuperToasts. This is a lock-free
+     * read of the size published by the main thread.
+     *
+     * @return The queue size
+     */
+    int getQueueSize() {
+        flushBatch();
+        return mSize;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+/**
+ * Token bucket used by the {@link Toaster} to limit how many SuperToasts are accepted
+ * per second. The bucket holds up to its burst size in tokens and refills continuously
+ * at its rate. It only uses primitive fields so acquiring a token never allocates.
+ * This class cannot (and should not) be used directly.
+ */
+final class TokenBucket {
+
+    private final double mTokensPerMillisecond;
+    private final int mBurst;
+    private double mTokens;
+    private long mLastRefill;
+
+    /**
+     * @param toastsPerSecond The sustained rate of the bucket
+     * @param burst The maximum number of tokens the bucket can hold
+     * @param now The current uptime in milliseconds
+     */
+    TokenBucket(float toastsPerSecond, int burst, long now) {
+        this.mTokensPerMillisecond = toastsPerSecond / 1000d;
+        this.mBurst = burst;
+        this.mTokens = burst;
+        this.mLastRefill = now;
+    }
+
+    /**
+     * Returns true if a token is available at the given time.
+     */
+    boolean hasToken(long now) {
+        refill(now);
+        return mTokens >= 1d;
+    }
+
+    /**
+     * Takes a token. Only call after {@link #hasToken(long)} returned true.
+     */
+    void acquire() {
+        mTokens -= 1d;
+    }
+
+    /**
+     * Returns the number of milliseconds until a token is available.
+     */
+    long getWaitTime(long now) {
+        refill(now);
+        if (mTokens >= 1d) return 0;
+        return (long) Math.ceil((1d - mTokens) / mTokensPerMillisecond);
+    }
+
+    private void refill(long now) {
+        if (now <= mLastRefill) return;
+        mTokens = Math.min(mBurst, mTokens + (now - mLastRefill) * mTokensPerMillisecond);
+        mLastRefill = now;
+    }
+}
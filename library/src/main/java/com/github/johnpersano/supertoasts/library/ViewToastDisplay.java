@@ -0,0 +1,368 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.animation.Animator;
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
+
+import com.github.johnpersano.supertoasts.library.utils.AccessibilityUtils;
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+import com.github.johnpersano.supertoasts.library.utils.BackgroundUtils;
+
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * Shows SuperToasts in the application WindowManager and SuperActivityToasts in their
+ * ViewGroup. Must only be used on the main thread.
+ * This class cannot (and should not) be used directly.
+ */
+final class ViewToastDisplay implements ToastDisplay {
+
+    private static final String ERROR_SAT_VIEWGROUP_NULL = "The SuperActivityToast's ViewGroup " +
+            "was null, could not show.";
+    private static final String ERROR_ST_WINDOWMANAGER_NULL = "The SuperToast's WindowManager " +
+            "was null when trying to remove the SuperToast.";
+
+    // Vertical space between stacked SuperActivityToasts in dp
+    private static final int STACK_SPACING = 8;
+
+    private Callback mCallback;
+
+    // Restacks a multi-slot ViewGroup whenever one of its SuperActivityToasts is measured
+    private final View.OnLayoutChangeListener mStackLayoutListener = new View.OnLayoutChangeListener() {
+
+        @Override
+        public void onLayoutChange(View view, int left, int top, int right, int bottom,
+                                   int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            if ((bottom - top) != (oldBottom - oldTop) && view.getParent() instanceof ViewGroup) {
+                mCallback.onTargetLayoutChanged(view.getParent());
+            }
+        }
+    };
+
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mCallback.onFrame();
+        }
+    };
+
+    // Activities that are currently stopped, their SuperActivityToasts are paused
+    private final WeakHashMap<Activity, Boolean> mStoppedActivities = new WeakHashMap<>();
+    private boolean mIsObservingLifecycle;
+    private final Application.ActivityLifecycleCallbacks mLifecycleCallbacks =
+            new Application.ActivityLifecycleCallbacks() {
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle bundle) {
+            // Do nothing
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+            if (mStoppedActivities.remove(activity) != null) {
+                mCallback.onHostVisibilityChanged(activity, true);
+            }
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+            // Do nothing
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+            // Do nothing
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+            mStoppedActivities.put(activity, Boolean.TRUE);
+            mCallback.onHostVisibilityChanged(activity, false);
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle bundle) {
+            // Do nothing
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+            mStoppedActivities.remove(activity);
+            mCallback.onHostDestroyed(activity);
+        }
+    };
+
+    @Override
+    public void setCallback(Callback callback) {
+        this.mCallback = callback;
+    }
+
+    /**
+     * SuperActivityToasts are keyed by their ViewGroup while every SuperToast shares the
+     * application WindowManager.
+     */
+    @Override
+    public Object getTarget(SuperToast superToast) {
+        if (superToast instanceof SuperActivityToast) {
+            return ((SuperActivityToast) superToast).getViewGroup();
+        }
+        final Object windowManager = superToast.getContext().getApplicationContext()
+                .getSystemService(Context.WINDOW_SERVICE);
+        return windowManager != null ? windowManager : SuperToast.class;
+    }
+
+    /**
+     * SuperActivityToasts follow the lifecycle of their Activity.
+     */
+    @Override
+    public Object getHost(SuperToast superToast) {
+        observeLifecycle(superToast.getContext());
+        return superToast instanceof SuperActivityToast
+                && superToast.getContext() instanceof Activity ? superToast.getContext() : null;
+    }
+
+    @Override
+    public boolean isHostVisible(Object host) {
+        return !mStoppedActivities.containsKey(host);
+    }
+
+    /**
+     * Registers the lifecycle callbacks with the Application the first time it is seen.
+     */
+    private void observeLifecycle(Context context) {
+        if (mIsObservingLifecycle) return;
+        final Context applicationContext = context.getApplicationContext();
+        if (!(applicationContext instanceof Application)) return;
+        ((Application) applicationContext).registerActivityLifecycleCallbacks(mLifecycleCallbacks);
+        mIsObservingLifecycle = true;
+    }
+
+    @Override
+    public boolean isShowing(SuperToast superToast) {
+        return superToast.isShowing();
+    }
+
+    @Override
+    public void prepare(SuperToast superToast) {
+        superToast.onPrepareShow();
+    }
+
+    /**
+     * SuperToasts will be shown using the WindowManager while SuperActivityToasts will be
+     * shown using their supplied ViewGroup.
+     */
+    @Override
+    public boolean attach(SuperToast superToast, boolean isStacked) {
+        // If the SuperToast is a SuperActivityToast, show it via the supplied ViewGroup
+        if (superToast instanceof SuperActivityToast) {
+            final ViewGroup viewGroup = ((SuperActivityToast) superToast).getViewGroup();
+            if (viewGroup == null) {
+                Log.e(getClass().getName(), ERROR_SAT_VIEWGROUP_NULL);
+                return false;
+            }
+
+            try {
+                viewGroup.addView(superToast.getView());
+
+                // Restack the others once the height of the SuperActivityToast is known
+                if (isStacked) superToast.getView().addOnLayoutChangeListener(mStackLayoutListener);
+
+                // Do not use the show animation on the first SuperToast if from orientation change
+                if (!((SuperActivityToast) superToast).isFromOrientationChange()) {
+                    AnimationUtils.getShowAnimation((SuperActivityToast) superToast).start();
+                }
+            } catch (IllegalStateException illegalStateException) {
+                Log.e(getClass().getName(), illegalStateException.toString());
+            }
+
+        // The SuperToast is NOT a SuperActivityToast, show it via the WindowManager
+        } else {
+            final WindowManager windowManager = (WindowManager) superToast.getContext()
+                    .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
+            if (windowManager != null) {
+                windowManager.addView(superToast.getView(), superToast.getWindowManagerParams());
+            }
+        }
+
+        AccessibilityUtils.sendAccessibilityEvent(superToast.getView());
+        return true;
+    }
+
+    /**
+     * A SuperActivityToast is released once its hide animation ends, a SuperToast is removed
+     * from the WindowManager right away and released after the hide duration.
+     */
+    @Override
+    public long detach(final SuperToast superToast) {
+        // If the SuperToast is a SuperActivityToast, remove it from the supplied ViewGroup
+        if (superToast instanceof SuperActivityToast) {
+            // If the SuperActivityToast never made it on screen there is nothing to animate
+            if (!superToast.isShowing()) {
+                if (superToast.isViewCreated()) {
+                    superToast.getView().removeOnLayoutChangeListener(mStackLayoutListener);
+                }
+                return 0;
+            }
+
+            final Animator animator = AnimationUtils.getHideAnimation(
+                    (SuperActivityToast) superToast);
+            animator.addListener(new Animator.AnimatorListener() {
+
+                @Override
+                public void onAnimationStart(Animator animation) {
+                    // Do nothing
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    if (superToast.getOnDismissListener() != null) {
+                        superToast.getOnDismissListener().onDismiss(superToast.getView(),
+                                superToast.getStyle().dismissToken);
+                    }
+
+                    superToast.getView().removeOnLayoutChangeListener(mStackLayoutListener);
+                    ((SuperActivityToast) superToast).getViewGroup().removeView(superToast.getView());
+
+                    // Show the next SuperToast if any exist
+                    mCallback.onReleased(superToast);
+                }
+
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    // Do nothing
+                }
+
+                @Override
+                public void onAnimationRepeat(Animator animation) {
+                    // Do nothing
+                }
+            });
+            animator.start();
+            return RELEASED_BY_DISPLAY;
+        }
+
+        // If the SuperToast is NOT a SuperActivityToast, remove it from the WindowManager
+        final WindowManager windowManager = (WindowManager) superToast.getContext()
+                .getSystemService(Context.WINDOW_SERVICE);
+
+        // If the WindowManager is null, the SuperToast will linger indefinitely
+        if (windowManager == null) throw new IllegalStateException(ERROR_ST_WINDOWMANAGER_NULL);
+
+        try {
+            windowManager.removeView(superToast.getView());
+        } catch (IllegalArgumentException illegalArgumentException) {
+            Log.e(getClass().getName(), illegalArgumentException.toString());
+        }
+
+        if (superToast.getOnDismissListener() != null) {
+            superToast.getOnDismissListener().onDismiss(superToast.getView(),
+                    superToast.getStyle().dismissToken);
+        }
+
+        // Show the next SuperToast in the queue if any exist after the hide duration
+        return AnimationUtils.HIDE_DURATION;
+    }
+
+    @Override
+    public void remove(SuperToast superToast) {
+        if (superToast instanceof SuperActivityToast) {
+            if (superToast.isViewCreated()) {
+                superToast.getView().removeOnLayoutChangeListener(mStackLayoutListener);
+            }
+            if (superToast.isShowing()) {
+                try {
+                    ((SuperActivityToast) superToast).getViewGroup().removeView(superToast.getView());
+                    ((SuperActivityToast) superToast).getViewGroup().invalidate();
+                } catch (NullPointerException|IllegalStateException exception) {
+                    Log.e(getClass().getName(), exception.toString());
+                }
+            }
+        } else if (superToast.isShowing()) {
+            final WindowManager windowManager = (WindowManager) superToast.getContext()
+                    .getApplicationContext().getSystemService(Context.WINDOW_SERVICE);
+            try {
+                windowManager.removeView(superToast.getView());
+            } catch (NullPointerException|IllegalArgumentException exception) {
+                Log.e(getClass().getName(), exception.toString());
+            }
+        }
+    }
+
+    /**
+     * Offsets every SuperActivityToast showing in a ViewGroup so they stack instead of
+     * overlapping. The oldest SuperActivityToast stays closest to its gravity edge.
+     */
+    @Override
+    public void restack(List<ToastRecord> showing) {
+        final int spacing = BackgroundUtils.convertToDIP(STACK_SPACING);
+        int bottomOffset = 0;
+        int topOffset = 0;
+
+        for (ToastRecord record : showing) {
+            final SuperToast superToast = record.superToast;
+            if (!superToast.isViewCreated() || !(superToast.getView().getLayoutParams()
+                    instanceof ViewGroup.MarginLayoutParams)) {
+                continue;
+            }
+
+            final View view = superToast.getView();
+            final ViewGroup.MarginLayoutParams layoutParams =
+                    (ViewGroup.MarginLayoutParams) view.getLayoutParams();
+            final int yOffset = superToast.getStyle().yOffset;
+
+            if ((superToast.getStyle().gravity & Gravity.VERTICAL_GRAVITY_MASK) == Gravity.TOP) {
+                if (layoutParams.topMargin != yOffset + topOffset) {
+                    layoutParams.topMargin = yOffset + topOffset;
+                    view.setLayoutParams(layoutParams);
+                }
+                topOffset += view.getHeight() + spacing;
+            } else {
+                if (layoutParams.bottomMargin != yOffset + bottomOffset) {
+                    layoutParams.bottomMargin = yOffset + bottomOffset;
+                    view.setLayoutParams(layoutParams);
+                }
+                bottomOffset += view.getHeight() + spacing;
+            }
+        }
+    }
+
+    @Override
+    public void scheduleFrame() {
+        Choreographer.getInstance().postFrameCallback(mFrameCallback);
+    }
+
+    @Override
+    public void cancelFrame() {
+        Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+    }
+
+    @Override
+    public void postFrameCallback(Choreographer.FrameCallback frameCallback) {
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * A clock and executor in virtual time. Tasks only run when the clock is advanced, in the
+ * order of their uptime and, for equal uptimes, in the order they were submitted. This
+ * lets tests and benchmarks replay hours of toast traffic in milliseconds on a plain JVM.
+ *
+ * Tasks may be submitted and cancelled from any thread, but they only run on the thread
+ * that created the VirtualClock. That thread is the executor thread and the only one
+ * allowed to advance the clock.
+ */
+@SuppressWarnings("UnusedDeclaration")
+public final class VirtualClock implements ToastClock, ToastExecutor {
+
+    private static final String ERROR_THREAD = "A VirtualClock can only be advanced on the " +
+            "thread that created it.";
+
+    /**
+     * A task waiting for its uptime.
+     */
+    private static final class ScheduledTask implements Comparable<ScheduledTask> {
+
+        private final Runnable task;
+        private final long uptime;
+        private final long sequence;
+
+        private ScheduledTask(Runnable task, long uptime, long sequence) {
+            this.task = task;
+            this.uptime = uptime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(ScheduledTask other) {
+            if (uptime != other.uptime) return uptime < other.uptime ? -1 : 1;
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    // Guarded by itself, tasks can be submitted from any thread
+    private final PriorityQueue<ScheduledTask> mTasks = new PriorityQueue<>();
+    private long mNextSequence;
+
+    private final Thread mThread = Thread.currentThread();
+    private volatile long mUptime;
+    private long mExecutedCount;
+
+    /**
+     * Creates a VirtualClock starting at the given uptime. The calling thread becomes its
+     * executor thread.
+     *
+     * @param uptime The initial uptime in milliseconds
+     */
+    public VirtualClock(long uptime) {
+        this.mUptime = uptime;
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return mUptime;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executeAt(task, mUptime);
+    }
+
+    @Override
+    public void executeAt(Runnable task, long uptime) {
+        synchronized (mTasks) {
+            mTasks.add(new ScheduledTask(task, uptime, mNextSequence++));
+        }
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        synchronized (mTasks) {
+            final Iterator<ScheduledTask> tasks = mTasks.iterator();
+            while (tasks.hasNext()) {
+                if (tasks.next().task == task) tasks.remove();
+            }
+        }
+    }
+
+    @Override
+    public boolean isExecutorThread() {
+        return Thread.currentThread() == mThread;
+    }
+
+    /**
+     * Advances the clock by the given number of milliseconds and runs every task that
+     * becomes due on the way, including tasks submitted by other tasks.
+     *
+     * @param millis The milliseconds to advance by
+     */
+    public void advanceBy(long millis) {
+        advanceTo(mUptime + Math.max(0, millis));
+    }
+
+    /**
+     * Advances the clock to the given uptime and runs every task that becomes due on the
+     * way, including tasks submitted by other tasks. Each task sees the clock at its own
+     * uptime.
+     *
+     * @param uptime The uptime to advance to, ignored if it is in the past
+     */
+    public void advanceTo(long uptime) {
+        if (!isExecutorThread()) throw new IllegalStateException(ERROR_THREAD);
+        ScheduledTask scheduledTask;
+        while ((scheduledTask = pollDue(uptime)) != null) {
+            mUptime = Math.max(mUptime, scheduledTask.uptime);
+            mExecutedCount++;
+            scheduledTask.task.run();
+        }
+        mUptime = Math.max(mUptime, uptime);
+    }
+
+    private ScheduledTask pollDue(long uptime) {
+        synchronized (mTasks) {
+            final ScheduledTask scheduledTask = mTasks.peek();
+            return scheduledTask != null && scheduledTask.uptime <= uptime ? mTasks.poll() : null;
+        }
+    }
+
+    /**
+     * Runs every task that is due now without advancing the clock.
+     */
+    public void runDue() {
+        advanceTo(mUptime);
+    }
+
+    /**
+     * Advances the clock to the next task and runs every task due at that uptime.
+     *
+     * @return false if no task was waiting
+     */
+    public boolean runNext() {
+        final long uptime = getNextUptime();
+        if (uptime == Long.MAX_VALUE) return false;
+        advanceTo(uptime);
+        return true;
+    }
+
+    /**
+     * Returns the uptime of the next task.
+     *
+     * @return The uptime or Long.MAX_VALUE if no task is waiting
+     */
+    public long getNextUptime() {
+        synchronized (mTasks) {
+            final ScheduledTask scheduledTask = mTasks.peek();
+            return scheduledTask != null ? scheduledTask.uptime : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting for their uptime.
+     *
+     * @return The pending task count
+     */
+    public int getPendingCount() {
+        synchronized (mTasks) {
+            return mTasks.size();
+        }
+    }
+
+    /**
+     * Returns the number of tasks that have run.
+     *
+     * @return The executed task count
+     */
+    public long getExecutedCount() {
+        return mExecutedCount;
+    }
+}
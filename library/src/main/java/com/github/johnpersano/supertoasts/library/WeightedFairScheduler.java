@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+
+/**
+ * Shares the display time between the sources of the pending SuperToasts in proportion
+ * to their weights with deficit round robin. The pending SuperToasts of a source at one
+ * priority level form a flow and the flows of a priority level take turns. A flow earns
+ * its weight times {@link Style#DURATION_VERY_LONG} of display time per turn and shows
+ * its SuperToasts in enqueue order for as long as that credit lasts, so a chatty source
+ * cannot starve the other sources of its priority level. Higher priority levels are still
+ * served first and SuperToasts without a source share one flow. Enqueueing, removing and
+ * showing a SuperToast are O(1). This is the {@link Style#SCHEDULER_WEIGHTED_FAIR} policy.
+ * This class cannot (and should not) be used directly.
+ */
+final class WeightedFairScheduler implements ToastScheduler {
+
+    // Longer SuperToasts are charged this much so that a flow can show one every turn
+    private static final long MAX_COST = Style.DURATION_VERY_LONG;
+
+    /**
+     * The flows of a priority level and the order in which they take turns. The flow at
+     * the head of the turns is the one being served.
+     */
+    private static final class Round {
+        private final HashMap<String, Flow> flows = new HashMap<>();
+        private final ArrayDeque<Flow> turns = new ArrayDeque<>();
+    }
+
+    /**
+     * The pending SuperToasts of one source at one priority level ordered by enqueue
+     * sequence, and the display time the flow may still use.
+     */
+    static final class Flow {
+
+        private final Round round;
+        private final String source;
+        private ToastRecord head;
+        private ToastRecord tail;
+        private long deficit;
+
+        // True once the flow has earned its credit for the current turn
+        private boolean isCredited;
+
+        // True while the flow is in the turns of its round
+        private boolean isActive;
+
+        private Flow(Round round, String source) {
+            this.round = round;
+            this.source = source;
+        }
+    }
+
+    private final HashMap<String, Integer> mWeights;
+    private final Round[] mRounds = new Round[Style.PRIORITY_LOW];
+
+    /**
+     * @param weights The weight of every source, shared with the Toaster, missing sources
+     *                have a weight of one
+     */
+    WeightedFairScheduler(HashMap<String, Integer> weights) {
+        this.mWeights = weights;
+        for (int i = 0; i < mRounds.length; i++) mRounds[i] = new Round();
+    }
+
+    @Override
+    public SuperToast onEnqueue(SuperToast superToast, long now) {
+        final ToastRecord record = superToast.getRecord();
+        final Round round = getRound(record);
+        final String source = getSource(superToast);
+        Flow flow = round.flows.get(source);
+        if (flow == null) {
+            flow = new Flow(round, source);
+            round.flows.put(source, flow);
+        }
+
+        // New arrivals go last, a suspended or reordered SuperToast moves back in front
+        // of the SuperToasts that arrived after it
+        ToastRecord previous = flow.tail;
+        while (previous != null && previous.sequence > record.sequence) {
+            previous = previous.schedulerPrevious;
+        }
+        final ToastRecord next = previous != null ? previous.schedulerNext : flow.head;
+        record.schedulerFlow = flow;
+        record.schedulerPrevious = previous;
+        record.schedulerNext = next;
+        if (previous != null) previous.schedulerNext = record;
+        else flow.head = record;
+        if (next != null) next.schedulerPrevious = record;
+        else flow.tail = record;
+
+        if (!flow.isActive) {
+            flow.isActive = true;
+            round.turns.addLast(flow);
+        }
+        return null;
+    }
+
+    @Override
+    public void onDismiss(SuperToast superToast) {
+        final ToastRecord record = superToast.getRecord();
+        if (record.schedulerFlow != null) unlink(record);
+    }
+
+    /**
+     * Only a SuperToast that changed its round moves, it keeps its place by sequence in
+     * the flow of its source there.
+     */
+    @Override
+    public void onReprioritize(SuperToast superToast, long now) {
+        final ToastRecord record = superToast.getRecord();
+        if (record.schedulerFlow == null || record.schedulerFlow.round == getRound(record)) return;
+        unlink(record);
+        onEnqueue(superToast, now);
+    }
+
+    @Override
+    public SuperToast nextToShow(long now) {
+        for (Round round : mRounds) {
+            while (!round.turns.isEmpty()) {
+                final Flow flow = round.turns.peekFirst();
+                if (flow.head == null) {
+                    leave(flow);
+                    continue;
+                }
+
+                if (!flow.isCredited) {
+                    final Integer weight = mWeights.get(flow.source);
+                    flow.deficit += MAX_COST * (weight != null ? weight : 1);
+                    flow.isCredited = true;
+                }
+                if (flow.deficit >= getCost(flow.head)) return flow.head.superToast;
+
+                // The turn is over, the remaining credit carries over to the next turn
+                flow.isCredited = false;
+                round.turns.addLast(round.turns.pollFirst());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onShow(SuperToast superToast, long now) {
+        final ToastRecord record = superToast.getRecord();
+        final Flow flow = record.schedulerFlow;
+        flow.deficit -= getCost(record);
+        unlink(record);
+        if (flow.head == null && flow.round.turns.peekFirst() == flow) leave(flow);
+    }
+
+    @Override
+    public void onTick(long now) {
+        // Do nothing
+    }
+
+    private void unlink(ToastRecord record) {
+        final Flow flow = record.schedulerFlow;
+        if (record.schedulerPrevious != null) {
+            record.schedulerPrevious.schedulerNext = record.schedulerNext;
+        } else {
+            flow.head = record.schedulerNext;
+        }
+        if (record.schedulerNext != null) {
+            record.schedulerNext.schedulerPrevious = record.schedulerPrevious;
+        } else {
+            flow.tail = record.schedulerPrevious;
+        }
+        record.schedulerFlow = null;
+        record.schedulerPrevious = null;
+        record.schedulerNext = null;
+
+        // An idle flow keeps no credit, otherwise it could save up for a burst
+        if (flow.head == null) {
+            flow.deficit = 0;
+            flow.isCredited = false;
+        }
+    }
+
+    /**
+     * Removes the empty flow at the head of its round, a later arrival of its source
+     * starts a new flow at the end of the turns.
+     */
+    private static void leave(Flow flow) {
+        flow.round.turns.pollFirst();
+        flow.isActive = false;
+        if (flow.round.flows.get(flow.source) == flow) flow.round.flows.remove(flow.source);
+    }
+
+    private Round getRound(ToastRecord record) {
+        return mRounds[Math.min(Style.PRIORITY_LOW, record.getEffectivePriorityLevel()) - 1];
+    }
+
+    /**
+     * Returns the display time a SuperToast costs its flow.
+     */
+    private static long getCost(ToastRecord record) {
+        final long duration = record.remainingDuration > 0 ? record.remainingDuration
+                : record.superToast.getStyle().duration;
+        return Math.max(0, Math.min(MAX_COST, duration));
+    }
+
+    private static String getSource(SuperToast superToast) {
+        final String source = superToast.getStyle().source;
+        return source != null ? source : "";
+    }
+}
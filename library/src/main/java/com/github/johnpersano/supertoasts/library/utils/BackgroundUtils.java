@@ -91,11 +91,14 @@ public class BackgroundUtils {
      * for the desired dimension.
      *
      * @param pixels The pixel value to be converted
-     * @return A rounded DIP value
+     * @return A rounded DIP value, or the pixel value if there are no system Resources
+     * such as in local unit tests
      */
     public static int convertToDIP(int pixels) {
+       final Resources resources = Resources.getSystem();
+       if (resources == null) return pixels;
        return Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, pixels,
-                Resources.getSystem().getDisplayMetrics()));
+                resources.getDisplayMetrics()));
     }
 
     /**
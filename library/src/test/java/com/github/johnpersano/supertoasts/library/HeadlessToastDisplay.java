@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.view.Choreographer;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ToastDisplay} without Views for driving a {@link Toaster} on a plain JVM. Every
+ * SuperToast shares one target, is attached right away and releases its slot after the
+ * hide duration like a SuperToast in the WindowManager. The target has no host unless a
+ * test sets one to play the lifecycle of an Activity. The Context of a SuperToast is
+ * never touched, so SuperToasts can be created without one.
+ */
+class HeadlessToastDisplay implements ToastDisplay {
+
+    final Object target = new Object();
+
+    // The Activity stand-in of the target, null for a target without a lifecycle
+    Object host;
+    private boolean mIsHostVisible = true;
+
+    // Every SuperToast in the order it was prepared and the currently attached ones
+    final List<SuperToast> prepared = new ArrayList<>();
+    final List<SuperToast> attached = new ArrayList<>();
+
+    private Callback mCallback;
+    private boolean mIsFrameScheduled;
+
+    static SuperToast newSuperToast(int duration, int priorityLevel) {
+        final Style style = new Style();
+        style.duration = duration;
+        style.priorityLevel = priorityLevel;
+        return new SuperToast(null, style);
+    }
+
+    /**
+     * Starts or stops the host like an Activity would.
+     */
+    void setHostVisible(boolean isVisible) {
+        mIsHostVisible = isVisible;
+        mCallback.onHostVisibilityChanged(host, isVisible);
+    }
+
+    /**
+     * Destroys the host like an Activity would.
+     */
+    void destroyHost() {
+        mIsHostVisible = true;
+        mCallback.onHostDestroyed(host);
+    }
+
+    /**
+     * Runs the frame requested by the Toaster, if any.
+     */
+    void runFrame() {
+        if (!mIsFrameScheduled) return;
+        mIsFrameScheduled = false;
+        mCallback.onFrame();
+    }
+
+    @Override
+    public void setCallback(Callback callback) {
+        this.mCallback = callback;
+    }
+
+    @Override
+    public Object getTarget(SuperToast superToast) {
+        return target;
+    }
+
+    @Override
+    public Object getHost(SuperToast superToast) {
+        return host;
+    }
+
+    @Override
+    public boolean isHostVisible(Object host) {
+        return mIsHostVisible;
+    }
+
+    @Override
+    public boolean isShowing(SuperToast superToast) {
+        return attached.contains(superToast);
+    }
+
+    @Override
+    public void prepare(SuperToast superToast) {
+        prepared.add(superToast);
+    }
+
+    @Override
+    public boolean attach(SuperToast superToast, boolean isStacked) {
+        attached.add(superToast);
+        return true;
+    }
+
+    @Override
+    public long detach(SuperToast superToast) {
+        attached.remove(superToast);
+        return AnimationUtils.HIDE_DURATION;
+    }
+
+    @Override
+    public void remove(SuperToast superToast) {
+        attached.remove(superToast);
+    }
+
+    @Override
+    public void restack(List<ToastRecord> showing) {
+        // Nothing to lay out
+    }
+
+    @Override
+    public void scheduleFrame() {
+        mIsFrameScheduled = true;
+    }
+
+    @Override
+    public void cancelFrame() {
+        mIsFrameScheduled = false;
+    }
+
+    @Override
+    public void postFrameCallback(Choreographer.FrameCallback frameCallback) {
+        // There are no frames to post to
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimerWheelTest {
+
+    private TimerWheel mWheel;
+    private List<ToastRecord> mDue;
+
+    @Before
+    public void setUp() {
+        mWheel = new TimerWheel();
+        mDue = new ArrayList<>();
+    }
+
+    @Test
+    public void returnsRecordsOnceTheyAreDue() {
+        final ToastRecord record = new ToastRecord(null);
+        mWheel.schedule(record, 1000, 0);
+        assertEquals(1, mWheel.size());
+
+        mWheel.advance(990, mDue);
+        assertTrue(mDue.isEmpty());
+
+        mWheel.advance(1000, mDue);
+        assertEquals(Collections.singletonList(record), mDue);
+        assertEquals(0, mWheel.size());
+        assertEquals(TimerWheel.NOT_SCHEDULED, record.timerSlot);
+    }
+
+    @Test
+    public void keepsDeadlinesBeyondOneRotationInTheirSlot() {
+        final ToastRecord near = new ToastRecord(null);
+        final ToastRecord far = new ToastRecord(null);
+
+        // One rotation is 5120 milliseconds, both records share a slot
+        mWheel.schedule(near, 100, 0);
+        mWheel.schedule(far, 100 + 5120, 0);
+
+        mWheel.advance(100, mDue);
+        assertEquals(Collections.singletonList(near), mDue);
+
+        mDue.clear();
+        mWheel.advance(5219, mDue);
+        assertTrue(mDue.isEmpty());
+        mWheel.advance(5220, mDue);
+        assertEquals(Collections.singletonList(far), mDue);
+    }
+
+    @Test
+    public void returnsEverythingAfterALongGap() {
+        for (int i = 1; i <= 100; i++) mWheel.schedule(new ToastRecord(null), i * 100, 0);
+        mWheel.advance(60000, mDue);
+        assertEquals(100, mDue.size());
+        assertEquals(-1, mWheel.getNextWakeUp());
+    }
+
+    @Test
+    public void cancelledRecordsAreNeverDue() {
+        final ToastRecord cancelled = new ToastRecord(null);
+        final ToastRecord kept = new ToastRecord(null);
+        mWheel.schedule(cancelled, 500, 0);
+        mWheel.schedule(kept, 500, 0);
+
+        assertTrue(mWheel.cancel(cancelled));
+        assertFalse(mWheel.cancel(cancelled));
+
+        mWheel.advance(500, mDue);
+        assertEquals(Collections.singletonList(kept), mDue);
+    }
+
+    @Test
+    public void wakesUpAtTheFirstOccupiedTick() {
+        assertEquals(-1, mWheel.getNextWakeUp());
+        mWheel.schedule(new ToastRecord(null), 1234, 0);
+        mWheel.schedule(new ToastRecord(null), 3000, 0);
+
+        // Deadlines are rounded up to the next ten millisecond tick
+        assertEquals(1240, mWheel.getNextWakeUp());
+    }
+
+    @Test
+    public void clearCancelsEveryRecord() {
+        final ToastRecord record = new ToastRecord(null);
+        mWheel.schedule(record, 1000, 0);
+        mWheel.clear();
+
+        assertEquals(0, mWheel.size());
+        assertEquals(TimerWheel.NOT_SCHEDULED, record.timerSlot);
+        mWheel.advance(2000, mDue);
+        assertTrue(mDue.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsARecordThatIsAlreadyScheduled() {
+        final ToastRecord record = new ToastRecord(null);
+        mWheel.schedule(record, 1000, 0);
+        mWheel.schedule(record, 2000, 0);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares cancelling every one of 10,000 queued SuperToasts in random order through the
+ * slots of a {@link ToastHeap} against the linear search of {@link PriorityQueue#remove(Object)}
+ * that the Toaster used before. The work is counted in records looked at, comparisons and
+ * equality checks, rather than timed, so the result does not depend on the machine.
+ */
+public class ToastHeapBenchmarkTest {
+
+    private static final int QUEUED = 10000;
+
+    /**
+     * Counts the comparisons of the priority order.
+     */
+    private static final class CountingComparator implements Comparator<ToastRecord> {
+
+        long count;
+
+        @Override
+        public int compare(ToastRecord left, ToastRecord right) {
+            count++;
+            return HeapScheduler.PRIORITY_COMPARATOR.compare(left, right);
+        }
+    }
+
+    /**
+     * Wraps a record for the PriorityQueue to count the equality checks of its search.
+     */
+    private static final class Entry {
+
+        final ToastRecord record;
+        final long[] equalsCount;
+
+        Entry(ToastRecord record, long[] equalsCount) {
+            this.record = record;
+            this.equalsCount = equalsCount;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            equalsCount[0]++;
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    private static List<ToastRecord> newRecords(Random random) {
+        final List<ToastRecord> records = new ArrayList<>(QUEUED);
+        for (int i = 0; i < QUEUED; i++) {
+            final ToastRecord record = new ToastRecord(HeadlessToastDisplay.newSuperToast(
+                    Style.DURATION_SHORT, Style.PRIORITY_HIGH + random.nextInt(Style.PRIORITY_LOW)));
+            record.sequence = i;
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static long cancelFromToastHeap(List<ToastRecord> records, List<ToastRecord> order) {
+        final CountingComparator comparator = new CountingComparator();
+        final ToastHeap heap = new ToastHeap(comparator, ToastHeap.PENDING_INDEX);
+        for (ToastRecord record : records) heap.add(record);
+
+        comparator.count = 0;
+        for (ToastRecord record : order) heap.remove(record);
+        assertTrue(heap.isEmpty());
+        return comparator.count;
+    }
+
+    private static long cancelFromPriorityQueue(List<ToastRecord> records, List<ToastRecord> order) {
+        final CountingComparator comparator = new CountingComparator();
+        final PriorityQueue<Entry> priorityQueue = new PriorityQueue<>(QUEUED, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry left, Entry right) {
+                return comparator.compare(left.record, right.record);
+            }
+        });
+        final long[] equalsCount = new long[1];
+        final Map<ToastRecord, Entry> entries = new IdentityHashMap<>(QUEUED);
+        for (ToastRecord record : records) {
+            final Entry entry = new Entry(record, equalsCount);
+            entries.put(record, entry);
+            priorityQueue.add(entry);
+        }
+
+        comparator.count = 0;
+        for (ToastRecord record : order) priorityQueue.remove(entries.get(record));
+        assertTrue(priorityQueue.isEmpty());
+        return comparator.count + equalsCount[0];
+    }
+
+    @Test
+    public void cancelsByHandleWithLogarithmicWork() {
+        final Random random = new Random(7);
+        final List<ToastRecord> records = newRecords(random);
+        final List<ToastRecord> order = new ArrayList<>(records);
+        Collections.shuffle(order, random);
+
+        final long heapWork = cancelFromToastHeap(records, order);
+        final long priorityQueueWork = cancelFromPriorityQueue(records, order);
+
+        // A removal sifts at most one path down and one up the heap, two comparisons a level
+        final int depth = 32 - Integer.numberOfLeadingZeros(QUEUED);
+        assertTrue(heapWork <= 3L * depth * QUEUED);
+
+        // The linear search looks at half of the remaining records on average
+        assertTrue(priorityQueueWork > (long) QUEUED * QUEUED / 8);
+        assertTrue(heapWork * 10 < priorityQueueWork);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ToastHeapTest {
+
+    // Orders by schedulerKey so that tests can change the key of a queued record
+    private static final Comparator<ToastRecord> KEY_ORDER = new Comparator<ToastRecord>() {
+
+        @Override
+        public int compare(ToastRecord x, ToastRecord y) {
+            return x.schedulerKey < y.schedulerKey ? -1 : (x.schedulerKey == y.schedulerKey ? 0 : 1);
+        }
+    };
+
+    private ToastHeap mHeap;
+    private final Random mRandom = new Random(42);
+
+    @Before
+    public void setUp() {
+        mHeap = new ToastHeap(KEY_ORDER, ToastHeap.PENDING_INDEX);
+    }
+
+    private static ToastRecord newRecord(long key) {
+        final ToastRecord record = new ToastRecord(null);
+        record.schedulerKey = key;
+        return record;
+    }
+
+    private List<ToastRecord> addShuffled(int count, boolean isLazy) {
+        final List<ToastRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) records.add(newRecord(i));
+        Collections.shuffle(records, mRandom);
+        for (ToastRecord record : records) {
+            if (isLazy) mHeap.addLazily(record);
+            else mHeap.add(record);
+        }
+        return records;
+    }
+
+    private void assertPollsInKeyOrder(int count) {
+        for (int i = 0; i < count; i++) assertEquals(i, mHeap.poll().schedulerKey);
+        assertNull(mHeap.poll());
+    }
+
+    @Test
+    public void pollsInOrder() {
+        addShuffled(100, false);
+        assertEquals(100, mHeap.size());
+        assertPollsInKeyOrder(100);
+        assertTrue(mHeap.isEmpty());
+    }
+
+    @Test
+    public void lazilyAddedRecordsAreOrderedOnRead() {
+        addShuffled(100, true);
+        assertEquals(0, mHeap.peek().schedulerKey);
+        assertPollsInKeyOrder(100);
+    }
+
+    @Test
+    public void removesAnyRecordByItsSlot() {
+        final List<ToastRecord> records = addShuffled(100, false);
+        final ArrayList<Long> remaining = new ArrayList<>();
+        for (ToastRecord record : records) {
+            if (record.schedulerKey % 3 == 0) {
+                assertTrue(mHeap.remove(record));
+                assertEquals(ToastHeap.NOT_QUEUED, record.heapIndices[ToastHeap.PENDING_INDEX]);
+            } else {
+                remaining.add(record.schedulerKey);
+            }
+        }
+        assertFalse(mHeap.remove(newRecord(0)));
+
+        Collections.sort(remaining);
+        for (long key : remaining) assertEquals(key, mHeap.poll().schedulerKey);
+        assertTrue(mHeap.isEmpty());
+    }
+
+    @Test
+    public void updateMovesARecordAfterItsKeyChanged() {
+        final List<ToastRecord> records = addShuffled(50, false);
+        final ToastRecord last = Collections.max(records, KEY_ORDER);
+        last.schedulerKey = -1;
+        mHeap.update(last);
+        assertSame(last, mHeap.peek());
+
+        last.schedulerKey = 1000;
+        mHeap.update(last);
+        for (int i = 0; i < 49; i++) assertEquals(i, mHeap.poll().schedulerKey);
+        assertSame(last, mHeap.poll());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsARecordThatIsAlreadyQueued() {
+        final ToastRecord record = newRecord(1);
+        mHeap.add(record);
+        mHeap.add(record);
+    }
+
+    @Test
+    public void clearForgetsEverySlot() {
+        final List<ToastRecord> records = addShuffled(20, false);
+        mHeap.clear();
+        assertTrue(mHeap.isEmpty());
+        for (ToastRecord record : records) assertFalse(mHeap.contains(record));
+
+        // Cleared records can be queued again
+        mHeap.add(records.get(0));
+        assertSame(records.get(0), mHeap.peek());
+    }
+
+    @Test
+    public void iteratesTheHeadFirst() {
+        addShuffled(30, true);
+        assertEquals(0, mHeap.iterator().next().schedulerKey);
+    }
+}
@@ -0,0 +1,677 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Discrete-event load simulator for the SuperToast scheduling policies. Synthetic traffic
+ * is shown through a real {@link Toaster} that runs on a {@link VirtualClock} with a
+ * {@link HeadlessToastDisplay}, so hours of traffic take milliseconds and every decision
+ * is the one the Toaster makes on a device. Every SuperToast occupies its slot for its
+ * duration plus {@link AnimationUtils#SHOW_DURATION} and {@link AnimationUtils#HIDE_DURATION}.
+ * Use it to tune the queue capacity, rate limit and scheduler and to catch scheduling
+ * regressions, for example:
+ *
+ * <pre>
+ * ToastSimulator.Report report = new ToastSimulator()
+ *         .setScheduler(Style.SCHEDULER_WEIGHTED_FAIR)
+ *         .setQueueCapacity(8, Style.OVERFLOW_DROP_OLDEST)
+ *         .addTraffic(ToastSimulator.Traffic.poisson("sync", Style.PRIORITY_MEDIUM,
+ *                 Style.DURATION_SHORT, 0.5))
+ *         .addTraffic(ToastSimulator.Traffic.bursty("chat", Style.PRIORITY_HIGH,
+ *                 Style.DURATION_MEDIUM, 5, 100, 0.01))
+ *         .run(60 * 60 * 1000);
+ * </pre>
+ *
+ * Rate limited SuperToasts are dropped. The synthetic SuperToasts of all traffic look the
+ * same, so {@link Style#OVERFLOW_COALESCE} folds an overflowing SuperToast into the first
+ * pending one. The simulator is single threaded and has to run on the thread it was
+ * created on.
+ */
+final class ToastSimulator {
+
+    private static final String ERROR_RATE = "The rate must be positive.";
+    private static final String ERROR_BURST = "The burst size must be at least one and the " +
+            "spacing must not be negative.";
+    private static final String ERROR_SOURCES = "At least one source is required.";
+    private static final String ERROR_SIMULATED_TIME = "The simulated time must be positive.";
+
+    /**
+     * A synthetic stream of SuperToasts. Arrivals of Poisson and skewed traffic are
+     * exponentially spaced, bursty traffic sends bursts of SuperToasts at exponentially
+     * spaced times.
+     */
+    static final class Traffic {
+
+        private static final int POISSON = 1;
+        private static final int BURSTY = 2;
+        private static final int SKEWED = 3;
+
+        private final int mType;
+        private final String[] mSources;
+        private final int mPriorityLevel;
+        private final int mDuration;
+        private final double mMeanInterval;
+        private int mBurstSize = 1;
+        private long mBurstSpacing;
+        private double[] mCumulativeWeights;
+        private int mTimeToLive;
+        private int mDeadline;
+
+        private Traffic(int type, String[] sources, int priorityLevel, int duration,
+                        double perSecond) {
+            if (!(perSecond > 0d)) throw new IllegalArgumentException(ERROR_RATE);
+            this.mType = type;
+            this.mSources = sources;
+            this.mPriorityLevel = priorityLevel;
+            this.mDuration = duration;
+            this.mMeanInterval = 1000d / perSecond;
+        }
+
+        /**
+         * Returns traffic of a single source with exponentially spaced arrivals.
+         *
+         * @param source The source tag of the SuperToasts, may be null
+         * @param priorityLevel The priority level of the SuperToasts
+         * @param duration The duration of the SuperToasts in milliseconds
+         * @param toastsPerSecond The average arrival rate
+         * @return The new Traffic
+         */
+        static Traffic poisson(String source, @Style.PriorityLevel int priorityLevel,
+                                      @Style.Duration int duration, double toastsPerSecond) {
+            return new Traffic(POISSON, new String[] {source}, priorityLevel, duration,
+                    toastsPerSecond);
+        }
+
+        /**
+         * Returns traffic of a single source that arrives in bursts, for example a sync
+         * that reports several results at once.
+         *
+         * @param source The source tag of the SuperToasts, may be null
+         * @param priorityLevel The priority level of the SuperToasts
+         * @param duration The duration of the SuperToasts in milliseconds
+         * @param burstSize The number of SuperToasts per burst
+         * @param burstSpacing The milliseconds between the SuperToasts of a burst
+         * @param burstsPerSecond The average rate at which bursts start
+         * @return The new Traffic
+         */
+        static Traffic bursty(String source, @Style.PriorityLevel int priorityLevel,
+                                     @Style.Duration int duration, int burstSize,
+                                     long burstSpacing, double burstsPerSecond) {
+            if (burstSize < 1 || burstSpacing < 0) throw new IllegalArgumentException(ERROR_BURST);
+            final Traffic traffic = new Traffic(BURSTY, new String[] {source}, priorityLevel,
+                    duration, burstsPerSecond);
+            traffic.mBurstSize = burstSize;
+            traffic.mBurstSpacing = burstSpacing;
+            return traffic;
+        }
+
+        /**
+         * Returns traffic of several sources where a few sources send most SuperToasts.
+         * The share of the k-th source is proportional to 1 / k^exponent, an exponent of
+         * zero spreads the SuperToasts evenly.
+         *
+         * @param sources The source tags of the SuperToasts, most active first
+         * @param priorityLevel The priority level of the SuperToasts
+         * @param duration The duration of the SuperToasts in milliseconds
+         * @param toastsPerSecond The average arrival rate of all sources together
+         * @param exponent The skew of the sources, one for a classic Zipf distribution
+         * @return The new Traffic
+         */
+        static Traffic skewed(String[] sources, @Style.PriorityLevel int priorityLevel,
+                                     @Style.Duration int duration, double toastsPerSecond,
+                                     double exponent) {
+            if (sources == null || sources.length == 0) {
+                throw new IllegalArgumentException(ERROR_SOURCES);
+            }
+            final Traffic traffic = new Traffic(SKEWED, sources.clone(), priorityLevel,
+                    duration, toastsPerSecond);
+            traffic.mCumulativeWeights = new double[sources.length];
+            double total = 0d;
+            for (int i = 0; i < sources.length; i++) {
+                total += 1d / Math.pow(i + 1, exponent);
+                traffic.mCumulativeWeights[i] = total;
+            }
+            return traffic;
+        }
+
+        /**
+         * Sets the time to live of the SuperToasts, see {@link SuperToast#setTimeToLive(int)}.
+         *
+         * @param timeToLive The desired time to live in milliseconds
+         * @return The current Traffic instance
+         */
+        Traffic setTimeToLive(int timeToLive) {
+            this.mTimeToLive = Math.max(0, timeToLive);
+            return this;
+        }
+
+        /**
+         * Sets the deadline of the SuperToasts, see {@link SuperToast#setDeadline(int)}.
+         *
+         * @param deadline The desired deadline in milliseconds
+         * @return The current Traffic instance
+         */
+        Traffic setDeadline(int deadline) {
+            this.mDeadline = Math.max(Style.DEADLINE_NONE, deadline);
+            return this;
+        }
+
+        private String pickSource(Random random) {
+            if (mCumulativeWeights == null) return mSources[0];
+            final double value = random.nextDouble() * mCumulativeWeights[mSources.length - 1];
+            final int index = Arrays.binarySearch(mCumulativeWeights, value);
+            return mSources[Math.min(mSources.length - 1, index >= 0 ? index : -index - 1)];
+        }
+    }
+
+    /**
+     * The outcome of a simulation.
+     */
+    static final class Report {
+
+        private long mSimulatedTime;
+        private long mArrivalCount;
+        private long mDisplayedCount;
+        private long mRejectedCount;
+        private long mEvictedCount;
+        private long mCoalescedCount;
+        private long mRateLimitedCount;
+        private long mExpiredCount;
+        private long mReplacedCount;
+        private long mDeadlineRejectedCount;
+        private long mPendingCount;
+        private double mQueueDepthArea;
+        private int mMaxQueueDepth;
+        private double mBusyTime;
+        private int mSlots;
+
+        // Sorted wait times of the displayed SuperToasts of every priority level
+        private final long[][] mWaitTimes = new long[Style.PRIORITY_LOW][];
+
+        private Report() {
+            // Do nothing
+        }
+
+        long getSimulatedTime() {
+            return mSimulatedTime;
+        }
+
+        /**
+         * Returns the number of SuperToasts the traffic showed.
+         */
+        long getArrivalCount() {
+            return mArrivalCount;
+        }
+
+        /**
+         * Returns the number of SuperToasts that were displayed, including the ones still
+         * on screen when the simulation ended.
+         */
+        long getDisplayedCount() {
+            return mDisplayedCount;
+        }
+
+        long getDisplayedCount(@Style.PriorityLevel int priorityLevel) {
+            return mWaitTimes[getLevelIndex(priorityLevel)].length;
+        }
+
+        /**
+         * Returns the number of new SuperToasts rejected by a full queue.
+         */
+        long getRejectedCount() {
+            return mRejectedCount;
+        }
+
+        /**
+         * Returns the number of pending SuperToasts evicted by the overflow policy.
+         */
+        long getEvictedCount() {
+            return mEvictedCount;
+        }
+
+        /**
+         * Returns the number of new SuperToasts folded into a pending one by
+         * {@link Style#OVERFLOW_COALESCE}.
+         */
+        long getCoalescedCount() {
+            return mCoalescedCount;
+        }
+
+        long getRateLimitedCount() {
+            return mRateLimitedCount;
+        }
+
+        long getExpiredCount() {
+            return mExpiredCount;
+        }
+
+        long getReplacedCount() {
+            return mReplacedCount;
+        }
+
+        /**
+         * Returns the number of SuperToasts rejected because they could not be displayed
+         * by their deadline.
+         */
+        long getDeadlineRejectedCount() {
+            return mDeadlineRejectedCount;
+        }
+
+        /**
+         * Returns the number of SuperToasts still pending when the simulation ended.
+         */
+        long getPendingCount() {
+            return mPendingCount;
+        }
+
+        /**
+         * Returns the number of SuperToasts that were dropped for any reason.
+         */
+        long getDroppedCount() {
+            return mRejectedCount + mEvictedCount + mCoalescedCount + mRateLimitedCount
+                    + mExpiredCount + mReplacedCount + mDeadlineRejectedCount;
+        }
+
+        /**
+         * Returns the share of the arrivals that were dropped, between zero and one.
+         */
+        double getDropRate() {
+            return mArrivalCount > 0 ? (double) getDroppedCount() / mArrivalCount : 0d;
+        }
+
+        /**
+         * Returns the given percentile of the time displayed SuperToasts of a priority level
+         * waited between being shown and being displayed.
+         *
+         * @param priorityLevel The priority level
+         * @param percentile The desired percentile between 0 and 100, for example 99
+         * @return The wait time in milliseconds, zero if nothing was displayed
+         */
+        long getWaitTimePercentile(@Style.PriorityLevel int priorityLevel, double percentile) {
+            final long[] waitTimes = mWaitTimes[getLevelIndex(priorityLevel)];
+            if (waitTimes.length == 0) return 0;
+            final int rank = (int) Math.ceil(waitTimes.length
+                    * Math.min(100d, Math.max(0d, percentile)) / 100d);
+            return waitTimes[Math.max(0, rank - 1)];
+        }
+
+        long getMaxWaitTime(@Style.PriorityLevel int priorityLevel) {
+            final long[] waitTimes = mWaitTimes[getLevelIndex(priorityLevel)];
+            return waitTimes.length > 0 ? waitTimes[waitTimes.length - 1] : 0;
+        }
+
+        /**
+         * Returns the time weighted average number of pending SuperToasts.
+         */
+        double getAverageQueueDepth() {
+            return mSimulatedTime > 0 ? mQueueDepthArea / mSimulatedTime : 0d;
+        }
+
+        int getMaxQueueDepth() {
+            return mMaxQueueDepth;
+        }
+
+        /**
+         * Returns the share of the slot time a SuperToast was on screen, including its
+         * show and hide animations, between zero and one.
+         */
+        double getUtilization() {
+            return mSimulatedTime > 0 ? mBusyTime / ((double) mSimulatedTime * mSlots) : 0d;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder stringBuilder = new StringBuilder();
+            stringBuilder.append(String.format(Locale.US, "simulated %d ms, %d arrivals, "
+                    + "%d displayed, %d pending%n", mSimulatedTime, mArrivalCount,
+                    mDisplayedCount, mPendingCount));
+            stringBuilder.append(String.format(Locale.US, "dropped %.2f%% (rejected %d, "
+                    + "evicted %d, coalesced %d, rate limited %d, expired %d, replaced %d, "
+                    + "missed deadline %d)%n", getDropRate() * 100d, mRejectedCount,
+                    mEvictedCount, mCoalescedCount, mRateLimitedCount, mExpiredCount,
+                    mReplacedCount, mDeadlineRejectedCount));
+            stringBuilder.append(String.format(Locale.US, "queue depth avg %.2f max %d, "
+                    + "utilisation %.2f%%%n", getAverageQueueDepth(), mMaxQueueDepth,
+                    getUtilization() * 100d));
+            for (int level = Style.PRIORITY_HIGH; level <= Style.PRIORITY_LOW; level++) {
+                stringBuilder.append(String.format(Locale.US, "priority %d: %d displayed, "
+                        + "wait p50 %d p90 %d p99 %d max %d ms%n", level,
+                        getDisplayedCount(level), getWaitTimePercentile(level, 50),
+                        getWaitTimePercentile(level, 90), getWaitTimePercentile(level, 99),
+                        getMaxWaitTime(level)));
+            }
+            return stringBuilder.toString();
+        }
+    }
+
+    /**
+     * Records when SuperToasts are displayed and how long they hold their slot. The lists
+     * of the HeadlessToastDisplay are not used so a long simulation does not keep every
+     * SuperToast alive.
+     */
+    private final class RecordingDisplay extends HeadlessToastDisplay {
+
+        private final IdentityHashMap<SuperToast, Long> attachedAt = new IdentityHashMap<>();
+
+        // Uptimes at which the Toaster releases the slots of hiding SuperToasts, in order
+        private final ArrayDeque<Long> releases = new ArrayDeque<>();
+
+        @Override
+        public boolean isShowing(SuperToast superToast) {
+            return attachedAt.containsKey(superToast);
+        }
+
+        @Override
+        public void prepare(SuperToast superToast) {
+            final ToastRecord record = superToast.getRecord();
+            mReport.mDisplayedCount++;
+            recordWaitTime(superToast.getStyle().priorityLevel,
+                    mClock.uptimeMillis() - record.enqueuedAt);
+        }
+
+        @Override
+        public boolean attach(SuperToast superToast, boolean isStacked) {
+            attachedAt.put(superToast, mClock.uptimeMillis());
+            return true;
+        }
+
+        @Override
+        public long detach(SuperToast superToast) {
+            final long now = mClock.uptimeMillis();
+            releases.add(now + AnimationUtils.HIDE_DURATION);
+            release(superToast, now + AnimationUtils.HIDE_DURATION);
+            return AnimationUtils.HIDE_DURATION;
+        }
+
+        @Override
+        public void remove(SuperToast superToast) {
+            release(superToast, mClock.uptimeMillis());
+        }
+
+        private void release(SuperToast superToast, long releasedAt) {
+            final Long attached = attachedAt.remove(superToast);
+            if (attached != null) addBusyTime(attached, releasedAt);
+        }
+
+        /**
+         * Returns the number of slots held by attached or hiding SuperToasts.
+         */
+        private int getOccupiedCount(long now) {
+            while (!releases.isEmpty() && releases.peek() <= now) releases.poll();
+            return attachedAt.size() + releases.size();
+        }
+    }
+
+    /**
+     * Feeds the arrivals of one Traffic into the Toaster.
+     */
+    private final class Generator implements Runnable {
+
+        private final Traffic traffic;
+        private int remainingInBurst;
+
+        private Generator(Traffic traffic) {
+            this.traffic = traffic;
+        }
+
+        @Override
+        public void run() {
+            final long now = mClock.uptimeMillis();
+            arrive(traffic, traffic.pickSource(mRandom));
+
+            final long next;
+            if (remainingInBurst > 0) {
+                remainingInBurst--;
+                next = now + traffic.mBurstSpacing;
+            } else {
+                remainingInBurst = traffic.mBurstSize - 1;
+                next = now + nextInterval(traffic.mMeanInterval);
+            }
+            if (next < mEnd) mClock.executeAt(this, next);
+        }
+    }
+
+    private final ArrayList<Traffic> mTraffic = new ArrayList<>();
+    private final LinkedHashMap<String, Integer> mSourceWeights = new LinkedHashMap<>();
+    private int mSchedulerPolicy = Style.SCHEDULER_STRICT_PRIORITY;
+    private ToastScheduler.Factory mSchedulerFactory;
+    private int mQueueCapacity = Style.QUEUE_CAPACITY_UNBOUNDED;
+    private int mOverflowPolicy = Style.OVERFLOW_REJECT_NEW;
+    private int mMaxConcurrent = 1;
+    private float mRateLimit = Style.RATE_UNLIMITED;
+    private int mRateLimitBurst = 1;
+    private long mSeed;
+
+    // State of the running simulation
+    private VirtualClock mClock;
+    private RecordingDisplay mDisplay;
+    private Toaster mToaster;
+    private Random mRandom;
+    private Report mReport;
+    private ArrayList<long[]> mWaitTimes;
+    private int[] mWaitTimeCounts;
+    private long mEnd;
+    private long mLastDepthChange;
+
+    /**
+     * Sets the built-in scheduler to simulate, see {@link Toaster#setScheduler(int)}.
+     */
+    ToastSimulator setScheduler(@Style.SchedulerPolicy int schedulerPolicy) {
+        this.mSchedulerPolicy = schedulerPolicy;
+        this.mSchedulerFactory = null;
+        return this;
+    }
+
+    /**
+     * Sets a custom scheduler to simulate, see {@link Toaster#setScheduler(ToastScheduler.Factory)}.
+     */
+    ToastSimulator setScheduler(ToastScheduler.Factory factory) {
+        this.mSchedulerFactory = factory;
+        return this;
+    }
+
+    /**
+     * Sets the weight of a source, see {@link Toaster#setSourceWeight(String, int)}.
+     */
+    ToastSimulator setSourceWeight(String source, int weight) {
+        this.mSourceWeights.put(source, weight);
+        return this;
+    }
+
+    /**
+     * Sets the queue capacity and overflow policy, see {@link Toaster#setQueueCapacity(int, int)}.
+     */
+    ToastSimulator setQueueCapacity(int queueCapacity, @Style.OverflowPolicy int overflowPolicy) {
+        this.mQueueCapacity = queueCapacity;
+        this.mOverflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the number of SuperToasts that may be on screen at the same time, see
+     * {@link Toaster#setMaxConcurrent(Object, int)}.
+     */
+    ToastSimulator setMaxConcurrent(int maxConcurrent) {
+        this.mMaxConcurrent = maxConcurrent;
+        return this;
+    }
+
+    /**
+     * Sets the global rate limit, see {@link Toaster#setRateLimit(float, int)}.
+     */
+    ToastSimulator setRateLimit(float toastsPerSecond, int burst) {
+        this.mRateLimit = toastsPerSecond;
+        this.mRateLimitBurst = burst;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random arrivals. Runs with the same seed and configuration
+     * produce the same Report.
+     */
+    ToastSimulator setSeed(long seed) {
+        this.mSeed = seed;
+        return this;
+    }
+
+    ToastSimulator addTraffic(Traffic traffic) {
+        this.mTraffic.add(traffic);
+        return this;
+    }
+
+    /**
+     * Runs the simulation on a new Toaster with an empty queue.
+     *
+     * @param simulatedTime The milliseconds of traffic to simulate
+     * @return The Report of the simulation
+     */
+    Report run(long simulatedTime) {
+        if (simulatedTime <= 0) throw new IllegalArgumentException(ERROR_SIMULATED_TIME);
+
+        mClock = new VirtualClock(0);
+        mDisplay = new RecordingDisplay();
+        mToaster = new Toaster(mClock, mClock, mDisplay);
+        for (Map.Entry<String, Integer> entry : mSourceWeights.entrySet()) {
+            mToaster.setSourceWeight(entry.getKey(), entry.getValue());
+        }
+        if (mSchedulerFactory != null) mToaster.setScheduler(mSchedulerFactory);
+        else mToaster.setScheduler(mSchedulerPolicy);
+        mToaster.setQueueCapacity(mQueueCapacity, mOverflowPolicy);
+        mToaster.setMaxConcurrent(mDisplay.target, mMaxConcurrent);
+        mToaster.setRateLimitPolicy(Style.RATE_LIMIT_DROP);
+        mToaster.setRateLimit(mRateLimit, mRateLimitBurst);
+
+        mRandom = new Random(mSeed);
+        mReport = new Report();
+        mReport.mSlots = mMaxConcurrent;
+        mWaitTimes = new ArrayList<>();
+        mWaitTimeCounts = new int[Style.PRIORITY_LOW];
+        for (int i = 0; i < Style.PRIORITY_LOW; i++) mWaitTimes.add(new long[16]);
+        mEnd = simulatedTime;
+        mLastDepthChange = 0;
+
+        for (Traffic traffic : mTraffic) {
+            final long first = nextInterval(traffic.mMeanInterval);
+            if (first < mEnd) mClock.executeAt(new Generator(traffic), first);
+        }
+
+        // The queue depth only changes when a task runs, so sample it before every step
+        long next;
+        while ((next = mClock.getNextUptime()) <= simulatedTime) {
+            trackQueueDepth(next);
+            mClock.advanceTo(next);
+        }
+        trackQueueDepth(simulatedTime);
+        mClock.advanceTo(simulatedTime);
+
+        final Report report = mReport;
+        for (Long attachedAt : mDisplay.attachedAt.values()) addBusyTime(attachedAt, simulatedTime);
+        report.mSimulatedTime = simulatedTime;
+        report.mPendingCount = getPendingCount(simulatedTime);
+
+        final ToastMetrics metrics = mToaster.getMetrics();
+        report.mRejectedCount = metrics.getRejectedCount();
+        report.mEvictedCount = metrics.getDroppedOldestCount()
+                + metrics.getDroppedLowestPriorityCount();
+        report.mCoalescedCount = metrics.getOverflowCoalescedCount();
+        report.mRateLimitedCount = metrics.getRateLimitedDroppedCount();
+        report.mExpiredCount = metrics.getExpiredCount();
+        report.mReplacedCount = metrics.getReplacedCount();
+        report.mDeadlineRejectedCount = metrics.getDeadlineRejectedCount();
+        for (int i = 0; i < Style.PRIORITY_LOW; i++) {
+            report.mWaitTimes[i] = Arrays.copyOf(mWaitTimes.get(i), mWaitTimeCounts[i]);
+            Arrays.sort(report.mWaitTimes[i]);
+        }
+
+        mClock = null;
+        mDisplay = null;
+        mToaster = null;
+        mReport = null;
+        mWaitTimes = null;
+        return report;
+    }
+
+    /**
+     * Shows a new synthetic SuperToast through the Toaster.
+     */
+    private void arrive(Traffic traffic, String source) {
+        mReport.mArrivalCount++;
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(traffic.mDuration,
+                traffic.mPriorityLevel);
+        final Style style = superToast.getStyle();
+        style.source = source;
+        style.timeToLive = traffic.mTimeToLive;
+        style.deadline = traffic.mDeadline;
+        mToaster.show(superToast);
+    }
+
+    /**
+     * Returns the number of SuperToasts waiting for a slot, everything the Toaster holds
+     * except the attached and hiding SuperToasts.
+     */
+    private int getPendingCount(long now) {
+        return mToaster.getQueueSize() - mDisplay.getOccupiedCount(now);
+    }
+
+    private void addBusyTime(long attachedAt, long releasedAt) {
+        mReport.mBusyTime += Math.max(0, Math.min(releasedAt, mEnd) - attachedAt);
+    }
+
+    private void recordWaitTime(int priorityLevel, long waitTime) {
+        final int level = getLevelIndex(priorityLevel);
+        long[] waitTimes = mWaitTimes.get(level);
+        if (mWaitTimeCounts[level] == waitTimes.length) {
+            waitTimes = Arrays.copyOf(waitTimes, waitTimes.length * 2);
+            mWaitTimes.set(level, waitTimes);
+        }
+        waitTimes[mWaitTimeCounts[level]++] = waitTime;
+    }
+
+    /**
+     * Adds the pending SuperToasts since the last step to the time weighted queue depth.
+     */
+    private void trackQueueDepth(long now) {
+        final int depth = getPendingCount(mClock.uptimeMillis());
+        final long end = Math.min(now, mEnd);
+        if (end > mLastDepthChange) {
+            mReport.mQueueDepthArea += (double) depth * (end - mLastDepthChange);
+            mLastDepthChange = end;
+        }
+        mReport.mMaxQueueDepth = Math.max(mReport.mMaxQueueDepth, depth);
+    }
+
+    /**
+     * Returns an exponentially distributed interval with the given mean.
+     */
+    private long nextInterval(double meanInterval) {
+        return (long) Math.ceil(-Math.log(1d - mRandom.nextDouble()) * meanInterval);
+    }
+
+    private static int getLevelIndex(int priorityLevel) {
+        return Math.min(Style.PRIORITY_LOW, Math.max(Style.PRIORITY_HIGH, priorityLevel)) - 1;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ToastSimulatorTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private static ToastSimulator newOverloadedSimulator() {
+        return new ToastSimulator()
+                .setSeed(42)
+                .setMaxConcurrent(2)
+                .setQueueCapacity(8, Style.OVERFLOW_DROP_LOWEST_PRIORITY)
+                .setRateLimit(2f, 5)
+                .addTraffic(ToastSimulator.Traffic.poisson("sync", Style.PRIORITY_LOW,
+                        Style.DURATION_LONG, 0.5).setTimeToLive(10000))
+                .addTraffic(ToastSimulator.Traffic.bursty("chat", Style.PRIORITY_HIGH,
+                        Style.DURATION_SHORT, 5, 100, 0.05))
+                .addTraffic(ToastSimulator.Traffic.skewed(new String[] {"a", "b", "c"},
+                        Style.PRIORITY_MEDIUM, Style.DURATION_MEDIUM, 0.3, 1d));
+    }
+
+    @Test
+    public void everyArrivalIsDisplayedDroppedOrPending() {
+        final ToastSimulator.Report report = newOverloadedSimulator().run(HOUR);
+
+        assertTrue(report.getDroppedCount() > 0);
+        assertEquals(report.getArrivalCount(), report.getDisplayedCount()
+                + report.getDroppedCount() + report.getPendingCount());
+        assertTrue(report.getUtilization() > 0.9d && report.getUtilization() <= 1d);
+    }
+
+    @Test
+    public void sameSeedProducesTheSameReport() {
+        assertEquals(newOverloadedSimulator().run(HOUR).toString(),
+                newOverloadedSimulator().run(HOUR).toString());
+    }
+
+    @Test
+    public void strictPriorityKeepsImportantSuperToastsWaitingLess() {
+        final ToastSimulator.Report report = newOverloadedSimulator().run(HOUR);
+
+        assertTrue(report.getWaitTimePercentile(Style.PRIORITY_HIGH, 90)
+                < report.getWaitTimePercentile(Style.PRIORITY_LOW, 90));
+    }
+
+    @Test
+    public void slotsAreReleasedByTheSuperToastThatWasDone() {
+        // Short and long SuperToasts share two slots, nothing is dropped at this load
+        final ToastSimulator.Report report = new ToastSimulator()
+                .setSeed(7)
+                .setMaxConcurrent(2)
+                .addTraffic(ToastSimulator.Traffic.poisson("short", Style.PRIORITY_MEDIUM,
+                        Style.DURATION_VERY_SHORT, 0.1))
+                .addTraffic(ToastSimulator.Traffic.poisson("long", Style.PRIORITY_MEDIUM,
+                        Style.DURATION_VERY_LONG, 0.05))
+                .run(HOUR);
+
+        assertEquals(0, report.getDroppedCount());
+        assertEquals(report.getArrivalCount(), report.getDisplayedCount() + report.getPendingCount());
+        assertTrue(report.getUtilization() < 1d);
+        assertTrue(report.getMaxQueueDepth() < 10);
+    }
+
+    @Test
+    public void earliestDeadlineRejectsSuperToastsThatCannotMakeIt() {
+        final ToastSimulator.Report report = new ToastSimulator()
+                .setSeed(3)
+                .setScheduler(Style.SCHEDULER_EARLIEST_DEADLINE)
+                .addTraffic(ToastSimulator.Traffic.poisson(null, Style.PRIORITY_MEDIUM,
+                        Style.DURATION_MEDIUM, 0.5).setDeadline(Style.DURATION_LONG))
+                .run(HOUR);
+
+        assertTrue(report.getDeadlineRejectedCount() > 0);
+        assertTrue(report.getMaxWaitTime(Style.PRIORITY_MEDIUM) <= Style.DURATION_LONG);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ToasterBatchTest {
+
+    private VirtualClock mClock;
+    private HeadlessToastDisplay mDisplay;
+    private Toaster mToaster;
+
+    @Before
+    public void setUp() {
+        mClock = new VirtualClock(0);
+        mDisplay = new HeadlessToastDisplay();
+        mToaster = new Toaster(mClock, mClock, mDisplay);
+    }
+
+    @Test
+    public void operationsOfOneLooperTurnShareOneBatch() {
+        for (int i = 0; i < 100; i++) {
+            mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+        }
+        assertEquals(1, mClock.getPendingCount());
+        mClock.runDue();
+
+        assertEquals(1, mToaster.getMetrics().getBatchCount());
+        assertEquals(100, mToaster.getMetrics().getBatchedOperationCount());
+        assertEquals(1, mDisplay.attached.size());
+    }
+
+    @Test
+    public void readsOnTheExecutorThreadFlushTheBatch() {
+        mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+        mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+
+        assertEquals(2, mToaster.getQueueSize());
+        assertEquals(2, mToaster.getSnapshot().getAll().size());
+
+        // The posted batch has nothing left to do
+        mClock.runDue();
+        assertEquals(1, mToaster.getMetrics().getBatchCount());
+    }
+
+    @Test
+    public void reprioritizeFromAnotherThreadWaitsForTheBatch() throws InterruptedException {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast second = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        mToaster.show(showing);
+        mToaster.show(first);
+        mToaster.show(second);
+        mClock.runDue();
+
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mToaster.reprioritize(second, Style.PRIORITY_HIGH);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // The queue only sees the new priority level once the batch runs
+        assertEquals(Style.PRIORITY_LOW, second.getStyle().priorityLevel);
+        mClock.runDue();
+        assertEquals(Style.PRIORITY_HIGH, second.getStyle().priorityLevel);
+
+        while (mClock.runNext()) continue;
+        assertEquals(showing, mDisplay.prepared.get(0));
+        assertEquals(second, mDisplay.prepared.get(1));
+        assertEquals(first, mDisplay.prepared.get(2));
+    }
+
+    @Test
+    public void reprioritizeBeforeShowIsReadBackRightAway() throws InterruptedException {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mToaster.reprioritize(superToast, Style.PRIORITY_HIGH);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(Style.PRIORITY_HIGH, superToast.getStyle().priorityLevel);
+
+        // On the main thread building a SuperToast never runs a batch
+        mClock.runDue();
+        final long batches = mToaster.getMetrics().getBatchCount();
+        mToaster.show(superToast);
+        mToaster.reprioritize(superToast, Style.PRIORITY_MEDIUM);
+        mToaster.reprioritize(superToast, Style.PRIORITY_LOW);
+        assertEquals(batches, mToaster.getMetrics().getBatchCount());
+        assertEquals(Style.PRIORITY_LOW, superToast.getStyle().priorityLevel);
+
+        mClock.runDue();
+        assertEquals(batches + 1, mToaster.getMetrics().getBatchCount());
+        assertEquals(Collections.singletonList(superToast), mDisplay.prepared);
+    }
+
+    @Test
+    public void listenerOfTheBatchDoesNotFlushItAgain() {
+        final SuperToast later = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final List<Integer> queueSizes = new ArrayList<>();
+        mDisplay = new HeadlessToastDisplay() {
+            @Override
+            public void prepare(SuperToast superToast) {
+                super.prepare(superToast);
+                if (superToast == later) return;
+                mToaster.show(later);
+                queueSizes.add(mToaster.getQueueSize());
+            }
+        };
+        mToaster = new Toaster(mClock, mClock, mDisplay);
+
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mToaster.show(first);
+        mClock.runDue();
+
+        // The show of the listener is left to a batch of its own
+        assertEquals(Collections.singletonList(0), queueSizes);
+        assertEquals(2, mToaster.getMetrics().getBatchCount());
+        assertEquals(2, mToaster.getQueueSize());
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(first, later), mDisplay.prepared);
+    }
+
+    @Test
+    public void rateLimitFromAnotherThreadAppliesWithTheBatch() throws InterruptedException {
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mToaster.setRateLimit(0.001f, 1);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        // The shows follow the limit in the same batch
+        mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+        mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+        mClock.runDue();
+
+        assertEquals(1, mToaster.getMetrics().getBatchCount());
+        assertEquals(1, mToaster.getQueueSize());
+        assertEquals(1, mToaster.getMetrics().getRateLimitedDroppedCount());
+    }
+
+    @Test
+    public void dismissInTheSameBatchNeverShows() {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT,
+                Style.PRIORITY_MEDIUM);
+        mToaster.show(superToast);
+        mToaster.dismiss(superToast);
+        mClock.runDue();
+
+        assertTrue(mDisplay.prepared.isEmpty());
+        assertEquals(0, mToaster.getQueueSize());
+    }
+
+    @Test
+    public void appliesEveryShowFromManyThreads() throws InterruptedException {
+        final int threadCount = 4;
+        final int showsPerThread = 5000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger(threadCount);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < showsPerThread; j++) {
+                            mToaster.show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT,
+                                    Style.PRIORITY_MEDIUM));
+                        }
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        // Apply batches on the executor thread while the other threads keep showing
+        start.countDown();
+        while (running.get() > 0) mClock.runDue();
+        for (Thread thread : threads) thread.join();
+        mClock.runDue();
+
+        // Only count what the batches applied, reading the queue size would flush a stalled batch
+        assertEquals(threadCount * showsPerThread,
+                mToaster.getMetrics().getBatchedOperationCount());
+        assertEquals(threadCount * showsPerThread, mToaster.getQueueSize());
+    }
+
+    @Test
+    public void showRacingWithTheBatchDoesNotStallLaterShows() {
+        final Toaster[] toaster = new Toaster[1];
+        final SuperToast racing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT,
+                Style.PRIORITY_MEDIUM);
+
+        // Shows from "another thread" right when the batch cancels its own message
+        final ToastExecutor executor = new ToastExecutor() {
+
+            private Runnable mBatch;
+
+            @Override
+            public void execute(Runnable task) {
+                if (mBatch == null) mBatch = task;
+                mClock.execute(task);
+            }
+
+            @Override
+            public void executeAt(Runnable task, long uptime) {
+                mClock.executeAt(task, uptime);
+            }
+
+            @Override
+            public void cancel(Runnable task) {
+                if (task == mBatch && racing.getRecord().toastQueue == null) toaster[0].show(racing);
+                mClock.cancel(task);
+            }
+
+            @Override
+            public boolean isExecutorThread() {
+                return mClock.isExecutorThread();
+            }
+        };
+        toaster[0] = new Toaster(mClock, executor, mDisplay);
+
+        toaster[0].show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+
+        // The read flushes the batch, which cancels its posted message
+        assertEquals(2, toaster[0].getQueueSize());
+        toaster[0].show(HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM));
+        mClock.runDue();
+
+        assertEquals(3, toaster[0].getMetrics().getBatchedOperationCount());
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.johnpersano.supertoasts.library;
+
+import android.os.Parcelable;
+import android.view.View;
+
+import com.github.johnpersano.supertoasts.library.utils.AnimationUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ToasterTest {
+
+    // Time a SuperToast occupies its slot beyond its duration
+    private static final long ANIMATIONS = AnimationUtils.SHOW_DURATION + AnimationUtils.HIDE_DURATION;
+
+    private VirtualClock mClock;
+    private HeadlessToastDisplay mDisplay;
+    private Toaster mToaster;
+
+    @Before
+    public void setUp() {
+        mClock = new VirtualClock(0);
+        mDisplay = new HeadlessToastDisplay();
+        mToaster = new Toaster(mClock, mClock, mDisplay);
+    }
+
+    @Test
+    public void showsOneSuperToastAtATimeInVirtualTime() {
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast second = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mToaster.show(first);
+        mToaster.show(second);
+        mClock.runDue();
+
+        assertEquals(Collections.singletonList(first), mDisplay.attached);
+        assertEquals(2, mToaster.getQueueSize());
+
+        // The first SuperToast stays on screen for its duration and the show animation
+        mClock.advanceBy(Style.DURATION_SHORT + AnimationUtils.SHOW_DURATION - 1);
+        assertEquals(Collections.singletonList(first), mDisplay.attached);
+        mClock.advanceBy(1);
+        assertTrue(mDisplay.attached.isEmpty());
+
+        // Its slot is only free once it is hidden
+        mClock.advanceBy(AnimationUtils.HIDE_DURATION);
+        assertEquals(Collections.singletonList(second), mDisplay.attached);
+
+        mClock.advanceBy(Style.DURATION_SHORT + ANIMATIONS);
+        assertTrue(mDisplay.attached.isEmpty());
+        assertEquals(0, mToaster.getQueueSize());
+        assertEquals(Arrays.asList(first, second), mDisplay.prepared);
+    }
+
+    @Test
+    public void showsMoreImportantSuperToastFirst() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast low = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast high = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_HIGH);
+        mToaster.show(showing);
+        mClock.runDue();
+        mToaster.show(low);
+        mToaster.show(high);
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(showing, high, low), mDisplay.prepared);
+        assertEquals(3 * (Style.DURATION_SHORT + ANIMATIONS), mClock.uptimeMillis());
+    }
+
+    @Test
+    public void reprioritizedSuperToastMovesAhead() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        final SuperToast second = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        mToaster.show(showing);
+        mClock.runDue();
+        mToaster.show(first);
+        mToaster.show(second);
+        mClock.runDue();
+
+        mToaster.reprioritize(second, Style.PRIORITY_HIGH);
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(showing, second, first), mDisplay.prepared);
+    }
+
+    @Test
+    public void suspendedSuperToastIsPreparedOnlyOnce() {
+        final SuperToast low = HeadlessToastDisplay.newSuperToast(Style.DURATION_LONG, Style.PRIORITY_LOW);
+        final SuperToast high = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_HIGH);
+        mToaster.setPreemptive(true);
+        mToaster.show(low);
+        mClock.runDue();
+        mClock.advanceTo(500);
+        mToaster.show(high);
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(low, high), mDisplay.prepared);
+        assertTrue(mDisplay.attached.isEmpty());
+    }
+
+    @Test
+    public void rejectedSuperToastKeepsItsRateLimitToken() {
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast second = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast rejected = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast third = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mToaster.setQueueCapacity(1, Style.OVERFLOW_REJECT_NEW);
+        mToaster.setRateLimit(0.001f, 3);
+        mToaster.show(first);
+        mClock.runDue();
+        mToaster.show(second);
+        mToaster.show(rejected);
+        mClock.runDue();
+
+        // The second SuperToast is showing, so the third fits the queue with the last token
+        mClock.advanceTo(Style.DURATION_SHORT + 2 * AnimationUtils.SHOW_DURATION);
+        mToaster.show(third);
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(first, second, third), mDisplay.prepared);
+    }
+
+    @Test
+    public void duplicateIsCoalescedByTheStyleOfItsShow() {
+        final SuperToast original = newDuplicateSuperToast("Synced");
+        mToaster.show(original);
+        mClock.runDue();
+        mToaster.show(newDuplicateSuperToast("Synced"));
+        mClock.runDue();
+        assertEquals(1, mToaster.getQueueSize());
+
+        // Shown again with another message, the original no longer takes the old duplicates
+        while (mClock.runNext()) continue;
+        original.getStyle().message = "Failed";
+        mToaster.show(original);
+        mToaster.show(newDuplicateSuperToast("Synced"));
+        mToaster.show(newDuplicateSuperToast("Failed"));
+        mClock.runDue();
+        assertEquals(2, mToaster.getQueueSize());
+        assertEquals(2, mDisplay.prepared.size());
+    }
+
+    @Test
+    public void cancelledSuperToastShowsForItsFullDurationAgain() {
+        final SuperToast low = HeadlessToastDisplay.newSuperToast(Style.DURATION_LONG, Style.PRIORITY_LOW);
+        final SuperToast high = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_HIGH);
+        mToaster.setPreemptive(true);
+        mToaster.show(low);
+        mClock.runDue();
+        mClock.advanceTo(1000);
+        mToaster.show(high);
+        mClock.runDue();
+        mToaster.cancel();
+
+        // The suspended SuperToast starts over instead of resuming with its remaining time
+        mToaster.show(low);
+        mClock.runDue();
+        mClock.advanceTo(1000 + AnimationUtils.SHOW_DURATION + Style.DURATION_LONG - 1);
+        assertEquals(Collections.singletonList(low), mDisplay.attached);
+    }
+
+    @Test
+    public void admitsSuperToastsByTheDeadlineWorkAhead() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast noDeadline = HeadlessToastDisplay.newSuperToast(Style.DURATION_LONG, Style.PRIORITY_MEDIUM);
+        final SuperToast committed = newDeadlineSuperToast(Style.DURATION_LONG, 10000);
+        final SuperToast tooLate = newDeadlineSuperToast(Style.DURATION_SHORT, 6000);
+        final SuperToast inTime = newDeadlineSuperToast(Style.DURATION_SHORT, 7000);
+        mToaster.setScheduler(Style.SCHEDULER_EARLIEST_DEADLINE);
+        mToaster.show(showing);
+        mClock.runDue();
+
+        // Displayed after the showing SuperToast and the committed one, but not the one without a deadline
+        mToaster.show(noDeadline);
+        mToaster.show(committed);
+        mToaster.show(tooLate);
+        mToaster.show(inTime);
+        mClock.runDue();
+        assertEquals(1, mToaster.getMetrics().getDeadlineRejectedCount());
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(showing, inTime, committed, noDeadline), mDisplay.prepared);
+    }
+
+    @Test
+    public void rejectsSuperToastPushingALaterDeadlinePastIt() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast first = newDeadlineSuperToast(Style.DURATION_SHORT, 5000);
+        final SuperToast last = newDeadlineSuperToast(Style.DURATION_SHORT, 7600);
+        final SuperToast tooLong = newDeadlineSuperToast(Style.DURATION_LONG, 7500);
+        final SuperToast inTime = newDeadlineSuperToast(Style.DURATION_SHORT, 7500);
+        mToaster.setScheduler(Style.SCHEDULER_EARLIEST_DEADLINE);
+        mToaster.show(showing);
+        mClock.runDue();
+
+        // Each one is displayed by its own deadline, but the long one would delay the last one
+        // from 5000 to 9000
+        mToaster.show(first);
+        mToaster.show(last);
+        mToaster.show(tooLong);
+        mToaster.show(inTime);
+        mClock.runDue();
+        assertEquals(1, mToaster.getMetrics().getDeadlineRejectedCount());
+
+        while (mClock.runNext()) continue;
+        assertEquals(Arrays.asList(showing, first, inTime, last), mDisplay.prepared);
+    }
+
+    @Test
+    public void destroyedHostDropsItsPausedQueue() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_LONG, Style.PRIORITY_MEDIUM);
+        final SuperToast pending = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final List<SuperToast> dismissed = new ArrayList<>();
+        for (final SuperToast superToast : Arrays.asList(showing, pending)) {
+            superToast.setOnDismissListener(new SuperToast.OnDismissListener() {
+                @Override
+                public void onDismiss(View view, Parcelable token) {
+                    dismissed.add(superToast);
+                }
+            });
+        }
+        mDisplay.host = new Object();
+        mToaster.show(showing);
+        mToaster.show(pending);
+        mClock.runDue();
+
+        mDisplay.setHostVisible(false);
+        mDisplay.destroyHost();
+
+        assertEquals(Arrays.asList(showing, pending), dismissed);
+        assertEquals(0, mToaster.getQueueSize());
+        assertEquals(0, mToaster.getSnapshot().size());
+        assertTrue(mDisplay.attached.isEmpty());
+
+        // Nothing is left to time out or to be shown later
+        while (mClock.runNext()) continue;
+        assertEquals(Collections.singletonList(showing), mDisplay.prepared);
+    }
+
+    @Test
+    public void showsScheduledSuperToastAtItsUptime() {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mToaster.showAt(superToast, 1000);
+        mClock.advanceTo(990);
+        assertTrue(mDisplay.attached.isEmpty());
+
+        mClock.advanceTo(1000);
+        assertEquals(Collections.singletonList(superToast), mDisplay.attached);
+    }
+
+    @Test
+    public void showsDelayedSuperToastOnTheClockOfTheToaster() {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mClock.advanceTo(5000);
+        mToaster.showAfter(superToast, 1000);
+        mClock.advanceTo(5990);
+        assertTrue(mDisplay.attached.isEmpty());
+
+        mClock.advanceTo(6000);
+        assertEquals(Collections.singletonList(superToast), mDisplay.attached);
+    }
+
+    @Test
+    public void expiresSuperToastWaitingLongerThanItsTimeToLive() {
+        final SuperToast showing = HeadlessToastDisplay.newSuperToast(Style.DURATION_LONG, Style.PRIORITY_MEDIUM);
+        final SuperToast stale = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        stale.setTimeToLive(Style.DURATION_SHORT);
+        mToaster.show(showing);
+        mToaster.show(stale);
+
+        while (mClock.runNext()) continue;
+        assertEquals(Collections.singletonList(showing), mDisplay.prepared);
+        assertEquals(1, mToaster.getMetrics().getExpiredCount());
+    }
+
+    @Test
+    public void dismissFreesTheSlotAfterTheHideDuration() {
+        final SuperToast first = HeadlessToastDisplay.newSuperToast(Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        final SuperToast second = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mToaster.show(first);
+        mToaster.show(second);
+        mClock.advanceBy(100);
+
+        mToaster.dismiss(first);
+        mClock.runDue();
+        assertFalse(mDisplay.isShowing(first));
+
+        mClock.advanceBy(AnimationUtils.HIDE_DURATION);
+        assertSame(second, mDisplay.attached.get(0));
+    }
+
+    private static SuperToast newDeadlineSuperToast(int duration, int deadline) {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(duration, Style.PRIORITY_MEDIUM);
+        superToast.getStyle().deadline = deadline;
+        return superToast;
+    }
+
+    private static SuperToast newDuplicateSuperToast(String message) {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(Style.DURATION_SHORT,
+                Style.PRIORITY_MEDIUM);
+        superToast.getStyle().message = message;
+        superToast.getStyle().coalesceDuplicates = true;
+        return superToast;
+    }
+}
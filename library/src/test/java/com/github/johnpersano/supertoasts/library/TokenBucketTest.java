@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+
+    private static int acquireAll(TokenBucket tokenBucket, long now) {
+        int acquired = 0;
+        while (tokenBucket.hasToken(now)) {
+            tokenBucket.acquire();
+            acquired++;
+        }
+        return acquired;
+    }
+
+    @Test
+    public void startsWithAFullBurst() {
+        final TokenBucket tokenBucket = new TokenBucket(1f, 5, 0);
+        assertEquals(5, acquireAll(tokenBucket, 0));
+        assertFalse(tokenBucket.hasToken(0));
+    }
+
+    @Test
+    public void refillsAtItsRate() {
+        final TokenBucket tokenBucket = new TokenBucket(10f, 1, 0);
+        acquireAll(tokenBucket, 0);
+
+        assertFalse(tokenBucket.hasToken(99));
+        assertTrue(tokenBucket.hasToken(100));
+    }
+
+    @Test
+    public void neverHoldsMoreThanItsBurst() {
+        final TokenBucket tokenBucket = new TokenBucket(100f, 3, 0);
+        acquireAll(tokenBucket, 0);
+        assertEquals(3, acquireAll(tokenBucket, 60000));
+    }
+
+    @Test
+    public void waitTimeIsTheTimeToTheNextToken() {
+        final TokenBucket tokenBucket = new TokenBucket(4f, 1, 0);
+        assertEquals(0, tokenBucket.getWaitTime(0));
+
+        tokenBucket.hasToken(0);
+        tokenBucket.acquire();
+        assertEquals(250, tokenBucket.getWaitTime(0));
+        assertEquals(150, tokenBucket.getWaitTime(100));
+        assertEquals(0, tokenBucket.getWaitTime(250));
+    }
+
+    @Test
+    public void ignoresTimeGoingBackwards() {
+        final TokenBucket tokenBucket = new TokenBucket(1f, 1, 1000);
+        acquireAll(tokenBucket, 1000);
+        assertFalse(tokenBucket.hasToken(0));
+        assertTrue(tokenBucket.hasToken(2000));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2013-2016 John Persano
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.johnpersano.supertoasts.library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class WeightedFairSchedulerTest {
+
+    private HashMap<String, Integer> mWeights;
+    private WeightedFairScheduler mScheduler;
+    private long mNextSequence;
+
+    @Before
+    public void setUp() {
+        mWeights = new HashMap<>();
+        mScheduler = new WeightedFairScheduler(mWeights);
+    }
+
+    private SuperToast enqueue(String source, int duration, int priorityLevel) {
+        final SuperToast superToast = HeadlessToastDisplay.newSuperToast(duration, priorityLevel);
+        superToast.getStyle().source = source;
+        superToast.getRecord().sequence = mNextSequence++;
+        assertNull(mScheduler.onEnqueue(superToast, 0));
+        return superToast;
+    }
+
+    private String showNext() {
+        final SuperToast superToast = mScheduler.nextToShow(0);
+        if (superToast == null) return null;
+        mScheduler.onShow(superToast, 0);
+        return superToast.getStyle().source;
+    }
+
+    private String showAll() {
+        final StringBuilder sources = new StringBuilder();
+        String source;
+        while ((source = showNext()) != null) sources.append(source);
+        return sources.toString();
+    }
+
+    @Test
+    public void sourcesTakeTurnsInsteadOfArrivalOrder() {
+        for (int i = 0; i < 4; i++) enqueue("a", Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        for (int i = 0; i < 2; i++) enqueue("b", Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        assertEquals("ababaa", showAll());
+    }
+
+    @Test
+    public void weightsShareTheDisplayTime() {
+        mWeights.put("a", 2);
+        for (int i = 0; i < 6; i++) enqueue("a", Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        for (int i = 0; i < 3; i++) enqueue("b", Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        assertEquals("aabaabaab", showAll());
+    }
+
+    @Test
+    public void shortSuperToastsCostLessOfATurn() {
+        // A turn fits two SuperToasts of half the maximum cost, then the other flow is served
+        for (int i = 0; i < 4; i++) enqueue("a", Style.DURATION_VERY_LONG / 2, Style.PRIORITY_MEDIUM);
+        for (int i = 0; i < 2; i++) enqueue("b", Style.DURATION_VERY_LONG, Style.PRIORITY_MEDIUM);
+        assertEquals("aabaab", showAll());
+    }
+
+    @Test
+    public void higherPriorityLevelsAreServedFirst() {
+        enqueue("a", Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        enqueue("b", Style.DURATION_SHORT, Style.PRIORITY_HIGH);
+        enqueue("c", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        assertEquals("bca", showAll());
+    }
+
+    @Test
+    public void dismissedSuperToastsLeaveTheirFlow() {
+        enqueue("a", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast dismissed = enqueue("b", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        enqueue("c", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mScheduler.onDismiss(dismissed);
+        assertNull(dismissed.getRecord().schedulerFlow);
+        assertEquals("ac", showAll());
+    }
+
+    @Test
+    public void reprioritizedSuperToastsMoveToTheirNewLevel() {
+        enqueue("a", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        final SuperToast urgent = enqueue("b", Style.DURATION_SHORT, Style.PRIORITY_LOW);
+        urgent.getStyle().priorityLevel = Style.PRIORITY_HIGH;
+        mScheduler.onReprioritize(urgent, 0);
+
+        assertSame(urgent, mScheduler.nextToShow(0));
+        assertEquals("ba", showAll());
+    }
+
+    @Test
+    public void suspendedSuperToastsResumeInFrontOfLaterArrivals() {
+        final SuperToast first = enqueue("a", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+        mScheduler.onShow(mScheduler.nextToShow(0), 0);
+        enqueue("a", Style.DURATION_SHORT, Style.PRIORITY_MEDIUM);
+
+        // Coming back keeps the original sequence
+        mScheduler.onEnqueue(first, 0);
+        assertSame(first, mScheduler.nextToShow(0));
+    }
+}